@@ -0,0 +1,70 @@
+package com.clov.backend.common.redis;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 입장/퇴장 폭주 시 Redis 리스너 Executor 처리 시간 비교 벤치마크입니다.
+ * 메시지 하나가 Redis / DB 왕복(blockingMicros) 동안 블로킹된다고 가정하고, burst 개 메시지를 모두 처리하는 시간을 잽니다.
+ * - platformPool : 기존 redisTaskExecutor (core 5 / max 10 스레드 풀)
+ * - virtualThreads : spring.threads.virtual.enabled=true 일 때의 메시지당 가상 스레드
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ListenerExecutorBenchmark {
+
+    @Param({"100", "1000"})
+    private int burst;
+
+    @Param({"1000"})
+    private long blockingMicros;
+
+    private ThreadPoolTaskExecutor platformPool;
+    private SimpleAsyncTaskExecutor virtualThreads;
+
+    @Setup
+    public void setUp() {
+        platformPool = new ThreadPoolTaskExecutor();
+        platformPool.setCorePoolSize(5);
+        platformPool.setMaxPoolSize(10);
+        platformPool.setThreadNamePrefix("redis-listener-");
+        platformPool.initialize();
+
+        virtualThreads = new SimpleAsyncTaskExecutor("redis-listener-");
+        virtualThreads.setVirtualThreads(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        platformPool.shutdown();
+        virtualThreads.close();
+    }
+
+    @Benchmark
+    public void platformPool() throws InterruptedException {
+        runBurst(platformPool);
+    }
+
+    @Benchmark
+    public void virtualThreads() throws InterruptedException {
+        runBurst(virtualThreads);
+    }
+
+    private void runBurst(TaskExecutor executor) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(burst);
+        for (int i = 0; i < burst; i++) {
+            executor.execute(() -> {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(blockingMicros));
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+}
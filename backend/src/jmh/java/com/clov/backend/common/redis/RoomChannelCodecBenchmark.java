@@ -0,0 +1,72 @@
+package com.clov.backend.common.redis;
+
+import com.clov.backend.domain.canvas.dto.CanvasStateDto;
+import com.clov.backend.domain.roomstate.dto.RoomChannelMessage;
+import com.clov.backend.domain.roomstate.dto.RoomMessageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 방 채널 메시지 발행 + 수신 1회 비용 비교 벤치마크입니다.
+ * - legacy : Map 래핑 → JSON 문자열 → GenericJackson2JsonRedisSerializer로 재인코딩 / 수신 시 String → Map 두 번 디코딩
+ * - codec : RoomChannelCodec으로 한 번 인코딩 / RoomChannelMessage로 한 번 디코딩
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RoomChannelCodecBenchmark {
+
+    /** update-states 배치에 포함된 참가자 수 */
+    @Param({"1", "6"})
+    private int participants;
+
+    private ObjectMapper objectMapper;
+    private GenericJackson2JsonRedisSerializer legacySerializer;
+    private RoomChannelCodec codec;
+    private RoomMessageDto message;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        legacySerializer = new GenericJackson2JsonRedisSerializer();
+        codec = new RoomChannelCodec(objectMapper);
+
+        Map<String, CanvasStateDto> states = new LinkedHashMap<>();
+        for (int i = 0; i < participants; i++) {
+            states.put(UUID.randomUUID().toString(), CanvasStateDto.builder()
+                    .x(320).y(140).scale(0.8).opacity(1.0).mode(2)
+                    .filter("grayscale").rotation(90).isMicOn(true).overlay("heart")
+                    .build());
+        }
+        message = RoomMessageDto.builder()
+                .event("update-states")
+                .roomCode("ABCD12")
+                .states(states)
+                .build();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> legacy() throws Exception {
+        Map<String, Object> wrapped = new HashMap<>();
+        wrapped.put("event", message.getEvent());
+        wrapped.put("data", message);
+        byte[] body = legacySerializer.serialize(objectMapper.writeValueAsString(wrapped));
+
+        String json = objectMapper.readValue(new String(body), String.class);
+        return objectMapper.readValue(json, Map.class);
+    }
+
+    @Benchmark
+    public RoomChannelMessage codec() throws Exception {
+        byte[] body = codec.encode(message);
+        return codec.decode(body);
+    }
+}
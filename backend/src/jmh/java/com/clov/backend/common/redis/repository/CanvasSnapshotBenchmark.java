@@ -0,0 +1,85 @@
+package com.clov.backend.common.redis.repository;
+
+import com.clov.backend.common.config.RedisConfig;
+import com.clov.backend.domain.canvas.dto.CanvasStateDto;
+import com.clov.backend.domain.canvas.dto.response.FullCanvasStateResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 방 크기별 전체 캔버스 상태(canvas-sync) 조회 지연 비교 벤치마크입니다. 로컬 redis-server(localhost:6379)가 필요합니다.
+ * - sequentialReads : 기존 방식 (상태 HGETALL → 닉네임 HGETALL → 방장 GET → 배경 GET, 네 번 왕복)
+ * - snapshotScript : 스냅샷 스크립트 한 번으로 조회 (RedisRepository.getCanvasState)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CanvasSnapshotBenchmark {
+
+    private static final String ROOM = "SNAPBENCH";
+
+    @Param({"2", "8", "32"})
+    private int roomSize;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private RedisTemplate<String, CanvasStateDto.BackgroundDto> backgroundRedisTemplate;
+    private RedisRepository redisRepository;
+
+    @Setup
+    public void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        RedisConfig config = new RedisConfig();
+        redisTemplate = config.redisTemplate(connectionFactory, new CanvasStateRedisSerializer(true));
+        backgroundRedisTemplate = config.backgroundRedisTemplate(connectionFactory);
+        redisRepository = new RedisRepository(redisTemplate, backgroundRedisTemplate);
+
+        redisRepository.deleteRoom(ROOM);
+        UUID host = UUID.randomUUID();
+        redisRepository.batchCreateRoom(ROOM, host, "host", state(),
+                new CanvasStateDto.BackgroundDto("https://example.com/backgrounds/1.png", "bench"), 600);
+        for (int i = 1; i < roomSize; i++) {
+            redisRepository.batchEnterRoom(ROOM, UUID.randomUUID(), "guest" + i, state());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        redisRepository.deleteRoom(ROOM);
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public FullCanvasStateResponse sequentialReads() {
+        HashOperations<String, String, CanvasStateDto> stateOps = redisTemplate.opsForHash();
+        HashOperations<String, String, String> nicknameOps = redisTemplate.opsForHash();
+
+        Map<String, CanvasStateDto> canvasMap = stateOps.entries(RedisRepository.getStateKey(ROOM));
+        Map<String, String> nicknameMap = nicknameOps.entries(RedisRepository.getNicknameKey(ROOM));
+        UUID hostId = UUID.fromString(redisTemplate.opsForValue().get(RedisRepository.getHostKey(ROOM)).toString());
+        CanvasStateDto.BackgroundDto bgDto = backgroundRedisTemplate.opsForValue().get(RedisRepository.getBackgroundKey(ROOM));
+
+        return RedisRepository.toFullCanvasState(ROOM, canvasMap, nicknameMap, hostId, bgDto);
+    }
+
+    @Benchmark
+    public FullCanvasStateResponse snapshotScript() {
+        return redisRepository.getCanvasState(ROOM);
+    }
+
+    private static CanvasStateDto state() {
+        return CanvasStateDto.builder()
+                .x(120).y(80).scale(1.0).opacity(1.0)
+                .mode(1).filter("none").rotation(0).isMicOn(true).overlay("none")
+                .build();
+    }
+}
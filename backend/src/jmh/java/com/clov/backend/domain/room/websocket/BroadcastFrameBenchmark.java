@@ -0,0 +1,92 @@
+package com.clov.backend.domain.room.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 브로드캐스트 1건당 할당량 비교 벤치마크입니다.
+ * - legacy* : 수신자마다 TextMessage를 새로 만들고, Redis 릴레이 시 Map으로 역직렬화 후 재직렬화하던 기존 경로
+ * - shared* / encoded* : 이벤트당 프레임 하나를 만들어 모든 세션이 공유하는 경로
+ *
+ * ./gradlew jmh 실행 후 gc.alloc.rate.norm (B/op) 값을 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BroadcastFrameBenchmark {
+
+    @Param({"2", "6", "10"})
+    private int recipients;
+
+    private ObjectMapper objectMapper;
+    private Map<String, Object> payload;
+    private byte[] relayedBytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+
+        Map<String, Object> state = new HashMap<>();
+        state.put("x", 320);
+        state.put("y", 140);
+        state.put("scale", 0.8);
+        state.put("opacity", 1.0);
+        state.put("mode", 2);
+        state.put("filter", "grayscale");
+        state.put("rotation", 90);
+        state.put("isMicOn", true);
+        state.put("overlay", "heart");
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("clientId", UUID.randomUUID().toString());
+        data.put("nickname", "참가자");
+        data.put("isHost", false);
+        data.put("state", state);
+
+        payload = new HashMap<>();
+        payload.put("event", "state-updated");
+        payload.put("data", data);
+
+        relayedBytes = objectMapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public void legacyPerRecipient(Blackhole bh) throws Exception {
+        String json = objectMapper.writeValueAsString(payload);
+        for (int i = 0; i < recipients; i++) {
+            bh.consume(new TextMessage(json));
+        }
+    }
+
+    @Benchmark
+    public void sharedFrame(Blackhole bh) throws Exception {
+        OutboundFrame frame = OutboundFrame.control(objectMapper.writeValueAsString(payload));
+        for (int i = 0; i < recipients; i++) {
+            bh.consume(frame.toMessage(false));
+        }
+    }
+
+    @Benchmark
+    public void legacyRelay(Blackhole bh) throws Exception {
+        Map<?, ?> decoded = objectMapper.readValue(relayedBytes, Map.class);
+        String json = objectMapper.writeValueAsString(decoded);
+        for (int i = 0; i < recipients; i++) {
+            bh.consume(new TextMessage(json));
+        }
+    }
+
+    @Benchmark
+    public void encodedRelay(Blackhole bh) {
+        OutboundFrame frame = OutboundFrame.encoded(relayedBytes);
+        for (int i = 0; i < recipients; i++) {
+            bh.consume(frame.toMessage(false));
+        }
+    }
+}
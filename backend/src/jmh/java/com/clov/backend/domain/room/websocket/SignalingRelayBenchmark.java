@@ -0,0 +1,58 @@
+package com.clov.backend.domain.room.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SDP/ICE 릴레이 1건당 처리 비용 비교 벤치마크입니다.
+ * - treeRelay : JsonNode 트리 → Map 변환 → 재직렬화하던 기존 경로
+ * - streamingRelay : event / data.target 만 스트리밍으로 읽고 원본을 그대로 전달하는 경로
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SignalingRelayBenchmark {
+
+    /** SDP 본문 길이 (ICE candidate 는 수백 바이트, offer/answer 는 수 KB) */
+    @Param({"256", "4096"})
+    private int sdpLength;
+
+    private ObjectMapper objectMapper;
+    private String payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        String sdp = "a=candidate:1 1 udp 2122260223 192.168.0.2 54400 typ host\r\n".repeat(sdpLength / 60 + 1);
+        payload = objectMapper.writeValueAsString(Map.of(
+                "event", "sdp-offer",
+                "data", Map.of(
+                        "from", "5b1f5d0e-3a43-4c9f-9d0d-6f2b2f8f4a11",
+                        "target", "0f7a9a2c-1e0b-4bb4-8b44-3c2d7b1b8e52",
+                        "sdp", Map.of("type", "offer", "sdp", sdp.substring(0, sdpLength))
+                )
+        ));
+    }
+
+    @Benchmark
+    public String treeRelay() throws Exception {
+        JsonNode root = objectMapper.readTree(payload);
+        String event = root.get("event").asText();
+        JsonNode dataNode = root.get("data");
+        dataNode.get("target").asText();
+        return objectMapper.writeValueAsString(Map.of(
+                "event", event,
+                "data", objectMapper.convertValue(dataNode, Map.class)
+        ));
+    }
+
+    @Benchmark
+    public String streamingRelay() throws Exception {
+        SignalingEnvelope envelope = SignalingEnvelope.peek(objectMapper.getFactory(), payload);
+        return envelope.target() != null ? payload : null;
+    }
+}
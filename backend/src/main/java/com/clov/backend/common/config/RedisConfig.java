@@ -1,11 +1,16 @@
 package com.clov.backend.common.config;
 
+import com.clov.backend.common.redis.repository.CanvasStateRedisSerializer;
 import com.clov.backend.domain.canvas.dto.CanvasStateDto;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -15,13 +20,14 @@ public class RedisConfig {
      * 기본 RedisTemplate 설정
      * - Key: String 타입
      * - Value: Object 타입 (Jackson 직렬화 사용, 타입 정보 포함)
-     * - Hash Key/Value 모두 동일한 직렬화 방식 적용
+     * - Hash Key: String, Hash Value: 캔버스 상태는 바이너리, 그 외는 JSON ({@link CanvasStateRedisSerializer})
      *
      * 이 Template은 다양한 타입의 데이터를 Redis에 저장할 수 있으며,
      * 특히 Hash 구조로 Canvas 상태를 저장할 때 사용됩니다.
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory cf) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory cf,
+                                                       CanvasStateRedisSerializer canvasStateRedisSerializer) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(cf);
 
@@ -29,14 +35,25 @@ public class RedisConfig {
         template.setKeySerializer(new StringRedisSerializer());
         template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
 
-        // Hash도 동일하게 설정
+        // Hash 값은 캔버스 상태만 바이너리로 저장 (이전 JSON 값도 읽음)
         template.setHashKeySerializer(new StringRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setHashValueSerializer(canvasStateRedisSerializer);
 
         template.afterPropertiesSet();
         return template;
     }
 
+    /**
+     * 캔버스 상태 해시 값 직렬화기
+     * - redis.state-codec.format=binary (기본) : 버전 바이트를 둔 고정 바이너리 레이아웃으로 저장
+     * - redis.state-codec.format=json : 기존 JSON으로 저장 (바이너리를 읽지 못하는 이전 버전 노드와 함께 배포하는 동안 사용)
+     * 어느 쪽이든 두 형식을 모두 읽습니다.
+     */
+    @Bean
+    public CanvasStateRedisSerializer canvasStateRedisSerializer(@Value("${redis.state-codec.format:binary}") String format) {
+        return new CanvasStateRedisSerializer(!"json".equalsIgnoreCase(format));
+    }
+
     /**
      * 배경 정보 전용 RedisTemplate 설정
      * - Key: String
@@ -56,4 +73,23 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * 실시간 경로(상태 저장, 명단/스냅샷 조회, 발행)용 ReactiveRedisTemplate 설정
+     * - 직렬화 방식은 기본 RedisTemplate과 동일하여 같은 키를 서로 읽고 쓸 수 있음
+     *
+     * 명령을 보내고 스레드를 반환하므로, 응답을 기다리는 동안 WebSocket / 방 메일박스 스레드를 붙잡지 않습니다.
+     */
+    @Bean
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(ReactiveRedisConnectionFactory connectionFactory,
+                                                                       CanvasStateRedisSerializer canvasStateRedisSerializer) {
+        GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer();
+        RedisSerializationContext<String, Object> context = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(jsonSerializer)
+                .hashKey(new StringRedisSerializer())
+                .hashValue(canvasStateRedisSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
 }
@@ -0,0 +1,56 @@
+package com.clov.backend.common.metrics;
+
+import com.clov.backend.common.redis.SignalingRouter;
+import com.clov.backend.domain.room.websocket.WebSocketSessionManager;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+
+/**
+ * 이 노드가 맡고 있는 몫(로컬 WebSocket 세션 기준)을 node 태그 게이지로 보고합니다.
+ * 클러스터 전체 값은 {@link RealTimeWebRTCMetrics}가 보고하며, 이 게이지들은 노드별 부하 분포 확인용입니다.
+ * 한 방의 참가자가 여러 노드에 나뉘어 연결되면 webrtc.rooms.local은 각 노드에서 모두 세므로 합계가 클러스터 방 수와 다를 수 있습니다.
+ */
+@Component
+public class NodeRoomMetrics {
+
+    public NodeRoomMetrics(MeterRegistry meterRegistry,
+                           WebSocketSessionManager sessionManager,
+                           SignalingRouter signalingRouter,
+                           @Value("${metrics.node-tag:${websocket.signaling.node-id:}}") String nodeTag) {
+        String node = resolveNodeTag(nodeTag, signalingRouter);
+
+        Gauge.builder("webrtc.rooms.local", sessionManager, WebSocketSessionManager::getLocalRoomCount)
+                .tag("node", node)
+                .description("이 노드에 세션이 연결된 방 수")
+                .register(meterRegistry);
+
+        Gauge.builder("webrtc.clients.local", sessionManager, WebSocketSessionManager::getLocalSessionCount)
+                .tag("node", node)
+                .description("이 노드에 연결된 참가자 세션 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * node 태그 값을 정합니다. 설정값(metrics.node-tag, 없으면 websocket.signaling.node-id) → HOSTNAME(파드 이름) → 호스트 이름 순입니다.
+     * 시그널링 노드 ID는 설정이 없으면 기동마다 새로 만들어지므로, 그대로 태그로 쓰면 재기동마다 새 시계열이 생겨 기준이 끊깁니다.
+     */
+    static String resolveNodeTag(String nodeTag, SignalingRouter signalingRouter) {
+        if (nodeTag != null && !nodeTag.isBlank()) {
+            return nodeTag;
+        }
+        String hostname = System.getenv("HOSTNAME");
+        if (hostname != null && !hostname.isBlank()) {
+            return hostname;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            //log.warn("[NodeRoomMetrics] 호스트 이름 조회 실패, 시그널링 노드 ID 사용", e);
+            return signalingRouter.getNodeId();
+        }
+    }
+}
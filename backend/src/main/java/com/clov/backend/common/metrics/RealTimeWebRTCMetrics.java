@@ -120,154 +120,173 @@
 //}
 package com.clov.backend.common.metrics;
 
+import com.clov.backend.common.redis.repository.ClusterMetricsRepository;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.Set;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.clov.backend.common.redis.repository.ClusterMetricsRepository.*;
+
+/**
+ * 클러스터 전체 활성 방 / 참가자 / 온라인 사용자 수 게이지입니다.
+ * 값은 {@link ClusterMetricsRepository}의 Redis 카운터가 원본이며, 모든 노드가 같은 값을 보고합니다.
+ * 노드별로 합산하면 노드 수만큼 중복되므로 대시보드에서는 sum 대신 max(또는 임의의 한 노드 값)를 사용해야 합니다.
+ * 노드별 몫은 {@link NodeRoomMetrics}의 node 태그 게이지로 따로 보고합니다.
+ *
+ * 게이지는 이벤트 처리 시 받은 증감 후 값과 주기적 조회(metrics.cluster.refresh-ms)로 갱신한 캐시 값을 읽으므로 스크레이프 시 Redis를 호출하지 않습니다.
+ * 기동 직후 {@link RoomMetricsRestorer}가 카운터를 준비하기 전까지는 워밍 상태로, 게이지에 NaN을 보고합니다.
+ */
 @Slf4j
 @Component
 public class RealTimeWebRTCMetrics {
 
     private final MeterRegistry meterRegistry;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final ClusterMetricsRepository clusterMetricsRepository;
 
-    // 실시간 카운터들
+    // 클러스터 카운터 캐시
     private final AtomicInteger activeRoomsCounter = new AtomicInteger(0);
     private final AtomicInteger totalClientsCounter = new AtomicInteger(0);
     private final AtomicInteger onlineUsersCounter = new AtomicInteger(0);
 
-    public RealTimeWebRTCMetrics(MeterRegistry meterRegistry, RedisTemplate<String, Object> redisTemplate) {
+    // 카운터 준비 전에는 0이 실제 값처럼 보이지 않도록 NaN 보고
+    private volatile boolean warming = true;
+
+    public RealTimeWebRTCMetrics(MeterRegistry meterRegistry, ClusterMetricsRepository clusterMetricsRepository) {
         this.meterRegistry = meterRegistry;
-        this.redisTemplate = redisTemplate;
+        this.clusterMetricsRepository = clusterMetricsRepository;
 
-        // Gauge 메트릭 등록 (실시간 값 제공)
-        Gauge.builder("webrtc.rooms.active", activeRoomsCounter, AtomicInteger::get)
-                .description("현재 활성 통화방 수")
+        // Gauge 메트릭 등록 (클러스터 전체 값, 워밍 중에는 NaN)
+        Gauge.builder("webrtc.rooms.active", activeRoomsCounter, this::valueOf)
+                .description("클러스터 전체 활성 통화방 수")
                 .register(meterRegistry);
 
-        Gauge.builder("webrtc.clients.total", totalClientsCounter, AtomicInteger::get)
-                .description("현재 전체 참가자 수")
+        Gauge.builder("webrtc.clients.total", totalClientsCounter, this::valueOf)
+                .description("클러스터 전체 참가자 수")
                 .register(meterRegistry);
 
-        Gauge.builder("webrtc.users.online", onlineUsersCounter, AtomicInteger::get)
-                .description("현재 온라인 사용자 수")
+        Gauge.builder("webrtc.users.online", onlineUsersCounter, this::valueOf)
+                .description("클러스터 전체 온라인 사용자 수")
                 .register(meterRegistry);
+    }
 
-        // 서버 시작 시 Redis에서 현재 상태 복원
-        initializeCountersFromRedis();
+    private double valueOf(AtomicInteger counter) {
+        return warming ? Double.NaN : counter.get();
     }
 
-    // 🔹 [수정] 서버 재시작 시 Redis 데이터로부터 카운터 복원 - TTL 활성 방만 조회하도록 개선
-    private void initializeCountersFromRedis() {
+    /**
+     * Redis의 클러스터 카운터를 다시 읽어 캐시를 갱신합니다. (다른 노드에서 처리된 이벤트 반영)
+     */
+    @Scheduled(fixedDelayString = "${metrics.cluster.refresh-ms:5000}")
+    public void refresh() {
         try {
-            // 🔹 [수정] 모든 카운터 초기화
-            activeRoomsCounter.set(0);
-            totalClientsCounter.set(0);
-            onlineUsersCounter.set(0);
-
-            // 🔹 [수정] TTL이 있는 활성 방만 조회 (6자리 영숫자 패턴)
-            Set<String> allKeys = redisTemplate.keys("*");
-            if (allKeys != null) {
-                int activeRooms = 0;
-                int totalClients = 0;
-
-                for (String key : allKeys) {
-                    // 🔹 [수정] roomCode 패턴 확인 (6자리 영숫자)
-                    if (key.matches("^[A-Za-z0-9]{6}$")) {
-                        // 🔹 [수정] TTL 확인으로 활성 방인지 검증
-                        Long ttl = redisTemplate.getExpire(key);
-                        if (ttl != null && ttl > 0) {
-                            activeRooms++;
-
-                            // 해당 방의 참가자 수 계산
-                            String stateKey = "canvas:" + key + ":state";
-                            Long participantCount = redisTemplate.opsForHash().size(stateKey);
-                            if (participantCount != null) {
-                                totalClients += participantCount.intValue();
-                            }
-                        }
-                    }
-                }
-
-                activeRoomsCounter.set(activeRooms);
-                totalClientsCounter.set(totalClients);
-                // 🔹 [수정] 온라인 사용자는 총 참가자와 동일하게 설정
-                onlineUsersCounter.set(totalClients);
-
-                //log.info("메트릭 카운터 초기화 완료 - 활성방:{}, 참가자:{}, 온라인:{}",activeRooms, totalClients, totalClients);
-            }
-
+            Map<String, Long> counts = clusterMetricsRepository.counts();
+            activeRoomsCounter.set(counts.getOrDefault(ROOMS, 0L).intValue());
+            totalClientsCounter.set(counts.getOrDefault(CLIENTS, 0L).intValue());
+            onlineUsersCounter.set(counts.getOrDefault(ONLINE, 0L).intValue());
         } catch (Exception e) {
-            //log.error("카운터 초기화 실패", e);
-            // 🔹 [수정] 실패 시 모든 카운터를 0으로 설정
-            activeRoomsCounter.set(0);
-            totalClientsCounter.set(0);
-            onlineUsersCounter.set(0);
+            //log.warn("클러스터 메트릭 조회 실패", e);
         }
     }
 
+    /**
+     * 클러스터 카운터를 다시 읽고 워밍 상태를 끝냅니다. ({@link RoomMetricsRestorer})
+     */
+    public void endWarming() {
+        refresh();
+        warming = false;
+    }
+
+    public boolean isWarming() {
+        return warming;
+    }
+
     // 방 생성 시 호출
     public void onRoomCreated(String roomId) {
-        int current = activeRoomsCounter.incrementAndGet();
+        increment(ROOMS, 1);
         meterRegistry.counter("webrtc.rooms.created.total").increment();
-        //log.debug("방 생성: {} (총 {}개)", roomId, current);
+        //log.debug("방 생성: {} (총 {}개)", roomId, activeRoomsCounter.get());
     }
 
-    // 🔹 [수정] 방 삭제 시 호출 - 음수 방지 로직 추가
+    // 방 삭제 시 호출 (Redis 스크립트에서 음수 방지)
     public void onRoomDeleted(String roomId) {
-        int current = Math.max(0, activeRoomsCounter.decrementAndGet());
-        if (activeRoomsCounter.get() < 0) {
-            activeRoomsCounter.set(0);
-        }
+        increment(ROOMS, -1);
         meterRegistry.counter("webrtc.rooms.deleted.total").increment();
-        //log.debug("방 삭제: {} (총 {}개)", roomId, current);
+        //log.debug("방 삭제: {} (총 {}개)", roomId, activeRoomsCounter.get());
+    }
+
+    /**
+     * 방 폐쇄(방장 퇴장, TTL 만료) 시 방과 남아 있던 참가자들을 한 번에 반영합니다.
+     * @param participantCount 폐쇄 시점의 참가자 수
+     */
+    public void onRoomClosed(String roomId, int participantCount) {
+        LinkedHashMap<String, Long> deltas = new LinkedHashMap<>();
+        deltas.put(ROOMS, -1L);
+        deltas.put(CLIENTS, (long) -participantCount);
+        deltas.put(ONLINE, (long) -participantCount);
+        increment(deltas);
+        meterRegistry.counter("webrtc.rooms.deleted.total").increment();
+        meterRegistry.counter("webrtc.clients.left.total").increment(participantCount);
+        //log.debug("방 폐쇄: {} (참가자 {}명, 총 {}개)", roomId, participantCount, activeRoomsCounter.get());
     }
 
     // 사용자 방 입장 시 호출
     public void onUserJoinedRoom(String roomId, String userId) {
-        int current = totalClientsCounter.incrementAndGet();
+        increment(CLIENTS, 1);
         meterRegistry.counter("webrtc.clients.joined.total").increment();
-        //log.debug("사용자 입장: {} -> {} (총 참가자: {})", userId, roomId, current);
+        //log.debug("사용자 입장: {} -> {} (총 참가자: {})", userId, roomId, totalClientsCounter.get());
     }
 
-    // 🔹 [수정] 사용자 방 퇴장 시 호출 - 음수 방지 로직 추가
+    // 사용자 방 퇴장 시 호출 (Redis 스크립트에서 음수 방지)
     public void onUserLeftRoom(String roomId, String userId) {
-        int current = Math.max(0, totalClientsCounter.decrementAndGet());
-        if (totalClientsCounter.get() < 0) {
-            totalClientsCounter.set(0);
-        }
+        increment(CLIENTS, -1);
         meterRegistry.counter("webrtc.clients.left.total").increment();
-        //log.debug("사용자 퇴장: {} <- {} (총 참가자: {})", userId, roomId, current);
+        //log.debug("사용자 퇴장: {} <- {} (총 참가자: {})", userId, roomId, totalClientsCounter.get());
     }
 
     // 사용자 온라인 상태 변경
     public void onUserOnline(String userId) {
-        int current = onlineUsersCounter.incrementAndGet();
-        //log.debug("사용자 온라인: {} (총 온라인: {})", userId, current);
+        increment(ONLINE, 1);
+        //log.debug("사용자 온라인: {} (총 온라인: {})", userId, onlineUsersCounter.get());
     }
 
-    // 🔹 [수정] 사용자 오프라인 상태 변경 - 음수 방지 로직 추가
+    // 사용자 오프라인 상태 변경 (Redis 스크립트에서 음수 방지)
     public void onUserOffline(String userId) {
-        int current = Math.max(0, onlineUsersCounter.decrementAndGet());
-        if (onlineUsersCounter.get() < 0) {
-            onlineUsersCounter.set(0);
+        increment(ONLINE, -1);
+        //log.debug("사용자 오프라인: {} (총 온라인: {})", userId, onlineUsersCounter.get());
+    }
+
+    private void increment(String field, long delta) {
+        LinkedHashMap<String, Long> deltas = new LinkedHashMap<>();
+        deltas.put(field, delta);
+        increment(deltas);
+    }
+
+    // 메트릭 반영 실패가 방 처리 흐름을 막지 않도록 예외는 삼킨다 (다음 주기 조회에서 캐시 보정)
+    private void increment(LinkedHashMap<String, Long> deltas) {
+        try {
+            Map<String, Long> counts = clusterMetricsRepository.increment(deltas);
+            set(activeRoomsCounter, counts.get(ROOMS));
+            set(totalClientsCounter, counts.get(CLIENTS));
+            set(onlineUsersCounter, counts.get(ONLINE));
+        } catch (Exception e) {
+            //log.warn("클러스터 메트릭 반영 실패: {}", deltas, e);
         }
-        //log.debug("사용자 오프라인: {} (총 온라인: {})", userId, current);
     }
 
-    // 현재 카운터 값들 조회
+    private static void set(AtomicInteger counter, Long value) {
+        if (value != null) {
+            counter.set(value.intValue());
+        }
+    }
+
+    // 현재 카운터 값들 조회 (클러스터 전체, 마지막으로 반영된 값)
     public int getActiveRoomsCount() { return activeRoomsCounter.get(); }
     public int getTotalClientsCount() { return totalClientsCounter.get(); }
     public int getOnlineUsersCount() { return onlineUsersCounter.get(); }
-
-    // 🔹 [추가] 메트릭 동기화 메서드 (필요시 수동 호출)
-    public void syncMetricsWithRedis() {
-        //log.info("메트릭 동기화 시작...");
-        initializeCountersFromRedis();
-    }
-}
\ No newline at end of file
+}
@@ -127,127 +127,134 @@
 //}
 package com.clov.backend.common.metrics;
 
+import com.clov.backend.common.redis.repository.ClusterMetricsRepository;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.clov.backend.common.redis.repository.ClusterMetricsRepository.participantsField;
+
+/**
+ * 클러스터 전체 참가자 수별 활성 방 개수 게이지입니다.
+ * 값은 {@link ClusterMetricsRepository}의 Redis 카운터가 원본이며, 모든 노드가 같은 값을 보고하므로 대시보드에서는 sum 대신 max를 사용합니다.
+ * 기동 직후 {@link RoomMetricsRestorer}가 카운터를 준비하기 전까지는 워밍 상태로, 게이지에 NaN을 보고합니다.
+ */
 @Slf4j
 @Component
 public class RoomDistributionMetrics {
 
     private final MeterRegistry meterRegistry;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final ClusterMetricsRepository clusterMetricsRepository;
 
-    // 🔹 [수정] 인원수별 방 개수 카운터 (1명~6명, 6명 이상) - 최대 6명으로 변경
+    // 🔹 [수정] 인원수별 방 개수 카운터 (1명~6명, 6명 이상) - 최대 6명으로 변경 (클러스터 카운터 캐시)
     private final Map<Integer, AtomicInteger> roomsByParticipantCount = new ConcurrentHashMap<>();
     private final AtomicInteger roomsWithMoreThan6 = new AtomicInteger(0);
 
-    public RoomDistributionMetrics(MeterRegistry meterRegistry, RedisTemplate<String, Object> redisTemplate) {
+    // 클러스터 카운터 필드 → 캐시 카운터
+    private final Map<String, AtomicInteger> countersByField = new HashMap<>();
+
+    // 카운터 준비 전에는 0이 실제 값처럼 보이지 않도록 NaN 보고
+    private volatile boolean warming = true;
+
+    public RoomDistributionMetrics(MeterRegistry meterRegistry, ClusterMetricsRepository clusterMetricsRepository) {
         this.meterRegistry = meterRegistry;
-        this.redisTemplate = redisTemplate;
+        this.clusterMetricsRepository = clusterMetricsRepository;
 
         // 🔹 [수정] 1명~6명 방 메트릭 등록 - 최대 6명으로 변경
         for (int i = 1; i <= 6; i++) {
             AtomicInteger counter = new AtomicInteger(0);
             roomsByParticipantCount.put(i, counter);
+            countersByField.put(participantsField(i), counter);
 
             final int participantCount = i; // final for lambda
-            Gauge.builder("webrtc.rooms.by_participants", counter, AtomicInteger::get)
+            Gauge.builder("webrtc.rooms.by_participants", counter, this::valueOf)
                     .tag("participant_count", String.valueOf(participantCount))
-                    .description("참가자 수별 현재 활성 방 개수")
+                    .description("참가자 수별 클러스터 전체 활성 방 개수")
                     .register(meterRegistry);
         }
 
         // 🔹 [수정] 6명 이상 방 메트릭 - 최대 6명으로 변경 (실제로는 사용되지 않음)
-        Gauge.builder("webrtc.rooms.by_participants", roomsWithMoreThan6, AtomicInteger::get)
+        countersByField.put(participantsField(7), roomsWithMoreThan6);
+        Gauge.builder("webrtc.rooms.by_participants", roomsWithMoreThan6, this::valueOf)
                 .tag("participant_count", "6+")
-                .description("6명 이상 참가자 현재 활성 방 개수")
+                .description("6명 이상 참가자 클러스터 전체 활성 방 개수")
                 .register(meterRegistry);
+    }
 
-        // 서버 시작 시 Redis에서 현재 분포 복원
-        initializeDistributionFromRedis();
+    private double valueOf(AtomicInteger counter) {
+        return warming ? Double.NaN : counter.get();
     }
 
-    // 🔹 [수정] Redis에서 분포 초기화 - TTL 활성 방만 조회하도록 개선
-    private void initializeDistributionFromRedis() {
+    /**
+     * Redis의 클러스터 카운터를 다시 읽어 캐시를 갱신합니다. (다른 노드에서 처리된 이벤트 반영)
+     */
+    @Scheduled(fixedDelayString = "${metrics.cluster.refresh-ms:5000}")
+    public void refresh() {
         try {
-            // 🔹 [수정] 모든 카운터 초기화
-            roomsByParticipantCount.values().forEach(counter -> counter.set(0));
-            roomsWithMoreThan6.set(0);
-
-            // 🔹 [수정] TTL이 있는 활성 방만 조회
-            Set<String> allKeys = redisTemplate.keys("*");
-            if (allKeys != null) {
-                for (String key : allKeys) {
-                    // 🔹 [수정] roomCode 패턴 확인 (6자리 영숫자)
-                    if (key.matches("^[A-Za-z0-9]{6}$")) {
-                        // 🔹 [수정] TTL 확인으로 활성 방인지 검증
-                        Long ttl = redisTemplate.getExpire(key);
-                        if (ttl != null && ttl > 0) {
-                            // 해당 방의 참가자 수 계산
-                            String stateKey = "canvas:" + key + ":state";
-                            Long participantCount = redisTemplate.opsForHash().size(stateKey);
-                            if (participantCount != null && participantCount > 0) {
-                                updateRoomDistribution(participantCount.intValue(), 1);
-                            }
-                        }
-                    }
-                }
-            }
+            Map<String, Long> counts = clusterMetricsRepository.counts();
+            countersByField.forEach((field, counter) -> counter.set(counts.getOrDefault(field, 0L).intValue()));
+        } catch (Exception e) {
+            //log.warn("방 분포 메트릭 조회 실패", e);
+        }
+    }
 
-            //log.info("방 분포 메트릭 초기화 완료: {}", getCurrentDistribution());
+    /**
+     * 클러스터 카운터를 다시 읽고 워밍 상태를 끝냅니다. ({@link RoomMetricsRestorer})
+     */
+    public void endWarming() {
+        refresh();
+        warming = false;
+    }
 
-        } catch (Exception e) {
-            //log.error("방 분포 메트릭 초기화 실패", e);
-            // 🔹 [수정] 실패 시 모든 카운터를 0으로 설정
-            roomsByParticipantCount.values().forEach(counter -> counter.set(0));
-            roomsWithMoreThan6.set(0);
+    /**
+     * 방별 참가자 수를 클러스터 카운터 시드 값(필드 → 방 개수)으로 변환합니다. ({@link RoomMetricsRestorer})
+     * @param participantCounts TTL이 남아 있는 방의 roomCode → 참가자 수
+     */
+    public static Map<String, Long> seedValues(Map<String, Integer> participantCounts) {
+        Map<String, Long> values = new HashMap<>();
+        for (int i = 1; i <= 7; i++) {
+            values.put(participantsField(i), 0L); // 빈 구간도 0으로 덮어쓰기
         }
+        participantCounts.values().stream()
+                .filter(count -> count > 0)
+                .forEach(count -> values.merge(participantsField(count), 1L, Long::sum));
+        return values;
     }
 
     // 방의 참가자 수가 변경될 때 호출
     public void onRoomParticipantCountChanged(String roomId, int oldCount, int newCount) {
-        // 이전 카운트에서 제거
+        if (oldCount == newCount) {
+            return;
+        }
+        LinkedHashMap<String, Long> deltas = new LinkedHashMap<>();
+
+        // 이전 카운트에서 제거 (0명 이하는 처리하지 않음)
         if (oldCount > 0) {
-            updateRoomDistribution(oldCount, -1);
+            deltas.merge(participantsField(oldCount), -1L, Long::sum);
         }
 
         // 새로운 카운트에 추가
         if (newCount > 0) {
-            updateRoomDistribution(newCount, 1);
+            deltas.merge(participantsField(newCount), 1L, Long::sum);
         }
 
-        //log.debug("방 {} 참가자 수 변경: {} -> {} | 현재 분포: {}",roomId, oldCount, newCount, getCurrentDistribution());
-}
-
-    // 🔹 [수정] 방 분포 업데이트 - 음수 방지 로직 추가, 최대 6명으로 변경
-    private void updateRoomDistribution(int participantCount, int delta) {
-        if (participantCount <= 0) {
-            return; // 🔹 [추가] 0명 이하는 처리하지 않음
+        // 메트릭 반영 실패가 방 처리 흐름을 막지 않도록 예외는 삼킨다 (다음 주기 조회에서 캐시 보정)
+        try {
+            clusterMetricsRepository.increment(deltas)
+                    .forEach((field, value) -> countersByField.get(field).set(value.intValue()));
+        } catch (Exception e) {
+            //log.warn("방 분포 메트릭 반영 실패: {}", deltas, e);
         }
 
-        if (participantCount <= 6) { // 🔹 [수정] 6명 이하로 변경
-            AtomicInteger counter = roomsByParticipantCount.get(participantCount);
-            if (counter != null) {
-                int newValue = Math.max(0, counter.addAndGet(delta));
-                if (newValue < 0) {
-                    counter.set(0); // 🔹 [추가] 음수 방지
-                }
-            }
-        } else {
-            int newValue = Math.max(0, roomsWithMoreThan6.addAndGet(delta)); // 🔹 [수정] 6명 초과로 변경
-            if (newValue < 0) {
-                roomsWithMoreThan6.set(0); // 🔹 [추가] 음수 방지
-            }
-        }
+        //log.debug("방 {} 참가자 수 변경: {} -> {} | 현재 분포: {}",roomId, oldCount, newCount, getCurrentDistribution());
     }
 
     // 🔹 [수정] 현재 분포 상태 조회 - 최대 6명으로 변경
@@ -275,10 +282,4 @@ public class RoomDistributionMetrics {
                 .sum();
         return total + roomsWithMoreThan6.get(); // 🔹 [수정] 6명 초과로 변경
     }
-
-    // 🔹 [추가] 메트릭 동기화 메서드 (필요시 수동 호출)
-    public void syncDistributionWithRedis() {
-        //log.info("방 분포 메트릭 동기화 시작...");
-        initializeDistributionFromRedis();
-    }
-}
\ No newline at end of file
+}
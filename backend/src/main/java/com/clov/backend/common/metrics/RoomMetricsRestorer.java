@@ -0,0 +1,97 @@
+package com.clov.backend.common.metrics;
+
+import com.clov.backend.common.redis.repository.ClusterMetricsRepository;
+import com.clov.backend.common.redis.repository.RedisRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 기동 후 클러스터 방 / 참가자 메트릭 카운터를 준비합니다.
+ * 카운터는 Redis에 있어 노드가 재기동되어도 유지되므로 평소에는 현재 값을 읽기만 하고,
+ * 한 번도 시드되지 않은 경우(최초 배포, Redis 초기화 후)에만 활성 방 색인에서 값을 계산해 시드합니다.
+ * 색인은 별도 스레드에서 ZSCAN 커서로 나누어 읽고 묶음마다 TTL / 참가자 수를 파이프라인 한 번으로 조회하므로 기동이 지연되지 않습니다.
+ *
+ * 준비가 끝날 때까지 {@link RealTimeWebRTCMetrics}, {@link RoomDistributionMetrics} 게이지는 NaN을 보고하고,
+ * webrtc.metrics.warming 게이지가 1을 보고합니다.
+ */
+@Slf4j
+@Component
+public class RoomMetricsRestorer {
+
+    private final RedisRepository redisRepository;
+    private final ClusterMetricsRepository clusterMetricsRepository;
+    private final RealTimeWebRTCMetrics realTimeMetrics;
+    private final RoomDistributionMetrics distributionMetrics;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public RoomMetricsRestorer(RedisRepository redisRepository,
+                               ClusterMetricsRepository clusterMetricsRepository,
+                               RealTimeWebRTCMetrics realTimeMetrics,
+                               RoomDistributionMetrics distributionMetrics,
+                               MeterRegistry meterRegistry,
+                               @Value("${metrics.restore.batch-size:200}") int batchSize) {
+        this.redisRepository = redisRepository;
+        this.clusterMetricsRepository = clusterMetricsRepository;
+        this.realTimeMetrics = realTimeMetrics;
+        this.distributionMetrics = distributionMetrics;
+        this.batchSize = batchSize;
+
+        Gauge.builder("webrtc.metrics.warming", realTimeMetrics, m -> m.isWarming() ? 1 : 0)
+                .description("기동 후 클러스터 방 메트릭을 준비하는 중이면 1")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreAsync() {
+        Thread thread = new Thread(this::restore, "metrics-restore");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 클러스터 카운터가 시드되지 않았으면 활성 방 색인에서 시드하고, 현재 값을 읽어 워밍 상태를 끝냅니다.
+     * 이미 진행 중이면 무시합니다. (필요시 수동 호출)
+     */
+    public void restore() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (!clusterMetricsRepository.isSeeded()) {
+                seed();
+            }
+        } catch (Exception e) {
+            //log.error("클러스터 메트릭 카운터 시드 실패", e);
+        } finally {
+            realTimeMetrics.endWarming();
+            distributionMetrics.endWarming();
+            running.set(false);
+        }
+    }
+
+    private void seed() {
+        Map<String, Integer> participantCounts = new HashMap<>();
+        redisRepository.forEachActiveRoomBatch(batchSize,
+                batch -> participantCounts.putAll(redisRepository.countLiveParticipants(batch)));
+
+        long totalClients = participantCounts.values().stream().mapToLong(Integer::longValue).sum();
+        Map<String, Long> values = new HashMap<>(RoomDistributionMetrics.seedValues(participantCounts));
+        values.put(ClusterMetricsRepository.ROOMS, (long) participantCounts.size());
+        values.put(ClusterMetricsRepository.CLIENTS, totalClients);
+        values.put(ClusterMetricsRepository.ONLINE, totalClients);
+
+        // 여러 노드가 동시에 기동해도 먼저 시드한 값만 남음
+        clusterMetricsRepository.seedIfAbsent(values);
+        //log.info("클러스터 메트릭 카운터 시드 - 활성방:{}, 참가자:{}", participantCounts.size(), totalClients);
+    }
+}
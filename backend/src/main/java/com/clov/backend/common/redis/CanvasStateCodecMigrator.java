@@ -0,0 +1,88 @@
+package com.clov.backend.common.redis;
+
+import com.clov.backend.common.redis.repository.RedisRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 기동 시 이전 JSON 형식으로 저장된 캔버스 상태를 바이너리 형식으로 바꿉니다.
+ * 읽기는 두 형식을 모두 지원하고 상태가 갱신될 때마다 새 형식으로 저장되므로, 이 작업은 움직임이 없는 참가자의 값만 정리합니다.
+ * 필드 값이 읽은 그대로일 때만 교체하므로 여러 노드가 동시에 실행해도 안전합니다.
+ *
+ * 다른 기동 리스너(메트릭 준비 등)를 막지 않도록 별도 스레드에서 실행하고, 키스페이스 SCAN 대신 활성 방 색인만 순회합니다.
+ * 모든 방을 실패 없이 변환하면 완료 표시를 남겨 이후 기동에서는 건너뜁니다.
+ */
+@Slf4j
+@Component
+public class CanvasStateCodecMigrator {
+
+    // 완료 표시 이름 (변환 대상 형식이 바뀌면 버전을 올림)
+    static final String MIGRATION = "canvas-state-codec:v1";
+
+    private final RedisRepository redisRepository;
+    private final String format;
+    private final boolean migrateOnStartup;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public CanvasStateCodecMigrator(RedisRepository redisRepository,
+                                    @Value("${redis.state-codec.format:binary}") String format,
+                                    @Value("${redis.state-codec.migrate-on-startup:true}") boolean migrateOnStartup,
+                                    @Value("${redis.state-codec.migrate-batch-size:200}") int batchSize) {
+        this.redisRepository = redisRepository;
+        this.format = format;
+        this.migrateOnStartup = migrateOnStartup;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateAsync() {
+        if (!migrateOnStartup || "json".equalsIgnoreCase(format)) {
+            return;
+        }
+        Thread thread = new Thread(this::migrate, "canvas-state-migrate");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 활성 방의 캔버스 상태를 바이너리 형식으로 바꿉니다. 이미 완료되었거나 진행 중이면 무시합니다. (필요시 수동 호출)
+     */
+    public void migrate() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (redisRepository.isMigrationDone(MIGRATION)) {
+                return;
+            }
+            AtomicInteger migrated = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            redisRepository.forEachActiveRoomBatch(batchSize, batch -> {
+                for (String roomCode : batch) {
+                    try {
+                        migrated.addAndGet(redisRepository.migrateCanvasStates(roomCode));
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        //log.warn("[CanvasStateCodecMigrator] 상태 형식 변환 실패: roomCode={}", roomCode, e);
+                    }
+                }
+            });
+            // 실패한 방이 있으면 다음 기동에서 다시 시도
+            if (failed.get() == 0) {
+                redisRepository.markMigrationDone(MIGRATION);
+            }
+            //log.info("[CanvasStateCodecMigrator] 바이너리 형식으로 변환한 참가자 상태 수: {}, 실패한 방 수: {}", migrated.get(), failed.get());
+        } catch (Exception e) {
+            //log.warn("[CanvasStateCodecMigrator] 활성 방 색인 순회 실패", e);
+        } finally {
+            running.set(false);
+        }
+    }
+}
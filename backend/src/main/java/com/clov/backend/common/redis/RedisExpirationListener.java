@@ -7,6 +7,7 @@ import com.clov.backend.domain.participant.entity.Participant;
 import com.clov.backend.domain.participant.repository.ParticipantRepository;
 import com.clov.backend.domain.room.repository.RoomRepository;
 import com.clov.backend.common.enums.RoomStatus;
+import com.clov.backend.domain.room.websocket.StateDeltaTracker;
 import com.clov.backend.domain.room.websocket.WebSocketMessageSender;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +33,9 @@ public class RedisExpirationListener implements MessageListener {
     private final RealTimeWebRTCMetrics realTimeMetrics;
     private final RoomDistributionMetrics distributionMetrics;
     private final WebSocketMessageSender messageSender;
+    private final StateDeltaTracker deltaTracker;
+    private final RoomEventMailbox roomEventMailbox;
+    private final RoomRosterCache rosterCache;
 
     /**
      * Redis로부터 TTL 만료 이벤트를 수신하여 처리합니다.
@@ -48,47 +52,60 @@ public class RedisExpirationListener implements MessageListener {
             String roomCode = expiredKey;
 
 
-            roomRepository.findByRoomCode(roomCode).ifPresent(room -> {
-                // [MySQL] 방 나가기 처리
-                // DB의 Room 상태를 CLOSED로 변경
-                room.setStatus(RoomStatus.CLOSED);
-                // DB의 Room 닫힌 시각을 지금으로 변경
-                room.setClosedAt(OffsetDateTime.now());
-
-                roomRepository.save(room);
-
-                // 참가자 조회
-                List<Participant> participants = participantRepository.findByRoom(room);
-                int count = participants.size();
-
-                // [메트릭 처리] : 각 참가자의 leftAt 업데이트 및 메트릭 처리
-                OffsetDateTime leftAt = OffsetDateTime.now();
-                for (Participant p : participants) {
-                    p.updateLeftAt(leftAt);
-                    participantRepository.save(p);
-                    realTimeMetrics.onUserLeftRoom(roomCode, p.getClientId().toString()); //[메트릭 처리] : userLeft처리
-                    realTimeMetrics.onUserOffline(p.getClientId().toString()); // [메트릭 처리] :  오프라인 처리
-                }
-
-                // [메트릭 처리] : 방 메트릭 제거
-                realTimeMetrics.onRoomDeleted(roomCode);
-                distributionMetrics.onRoomParticipantCountChanged(roomCode, count, 0);
-
-                // WebSocket 브로드캐스트: 방 만료
-                Map<String, Object> payload = Map.of(
-                        "event", "room-expired",
-                        "data", Map.of(
-                                "roomCode", roomCode
-                        )
-                );
-
-                messageSender.broadcastToRoom(roomCode, payload);
-                //log.info("[Redis TTL Expired] Room 폐쇄 처리 완료 - roomCode={}, 참가자 {}명, 현재 온라인={}",roomCode, count, realTimeMetrics.getOnlineUsersCount());
-            });
-
-            // Redis의 모든 방 관련 키 제거
-            redisRepository.deleteRoom(roomCode);
-            //log.info("[Redis TTL Expired] Redis 데이터 삭제 완료 - roomCode={}", roomCode);
+            // 같은 방의 다른 이벤트(퇴장 처리 등)와 순서가 섞이지 않도록 방 메일박스에서 처리
+            roomEventMailbox.submit(roomCode, () -> expireRoom(roomCode));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 만료된 방을 DB / Redis / 메트릭에서 정리하고 room-expired를 브로드캐스트합니다.
+     */
+    private void expireRoom(String roomCode) {
+        // 만료 이벤트는 모든 노드가 받으므로 활성 방 색인에서 방을 제거한 노드만 메트릭을 반영 (-1이면 이미 다른 곳에서 폐쇄)
+        int closedCount = redisRepository.claimRoomClose(roomCode);
+
+        roomRepository.findByRoomCode(roomCode).ifPresent(room -> {
+            // [MySQL] 방 나가기 처리
+            // DB의 Room 상태를 CLOSED로 변경
+            room.setStatus(RoomStatus.CLOSED);
+            // DB의 Room 닫힌 시각을 지금으로 변경
+            room.setClosedAt(OffsetDateTime.now());
+
+            roomRepository.save(room);
+
+            // 참가자 조회
+            List<Participant> participants = participantRepository.findByRoom(room);
+            int count = participants.size();
+
+            // 각 참가자의 leftAt 업데이트
+            OffsetDateTime leftAt = OffsetDateTime.now();
+            for (Participant p : participants) {
+                p.updateLeftAt(leftAt);
+                participantRepository.save(p);
+            }
+
+            // WebSocket 브로드캐스트: 방 만료
+            Map<String, Object> payload = Map.of(
+                    "event", "room-expired",
+                    "data", Map.of(
+                            "roomCode", roomCode
+                    )
+            );
+
+            messageSender.broadcastToRoom(roomCode, payload);
+            //log.info("[Redis TTL Expired] Room 폐쇄 처리 완료 - roomCode={}, 참가자 {}명, 현재 온라인={}",roomCode, count, realTimeMetrics.getOnlineUsersCount());
+        });
+
+        // [메트릭 처리] : 방과 남아 있던 참가자(Redis 상태 기준) 메트릭 제거
+        if (closedCount >= 0) {
+            realTimeMetrics.onRoomClosed(roomCode, closedCount);
+            distributionMetrics.onRoomParticipantCountChanged(roomCode, closedCount, 0);
+        }
+
+        // Redis의 모든 방 관련 키 제거
+        redisRepository.deleteRoom(roomCode);
+        deltaTracker.forgetRoom(roomCode);
+        rosterCache.forget(roomCode);
+        //log.info("[Redis TTL Expired] Redis 데이터 삭제 완료 - roomCode={}", roomCode);
+    }
+}
@@ -1,24 +1,47 @@
 package com.clov.backend.common.redis;
 
+import com.clov.backend.common.redis.repository.ReactiveRoomRepository;
 import com.clov.backend.domain.roomstate.dto.RoomMessageDto;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
 /**
  * Redis Pub/Sub을 통해 메시지를 발행하는 클래스입니다.
  * 클라이언트가 보낸 WebSocket 메시지를 Redis로 전파합니다.
+ * 스트림 전송 모드에서는 {@link RoomEventStream}에 이벤트를 추가합니다.
+ *
+ * pub/sub 모드에서는 발행한 이벤트를 이 노드의 {@link RedisSubscriber}에 바로 넘겨 Redis 왕복 없이 로컬 세션에 전달하고,
+ * 다른 노드를 위해 발행은 그대로 하되 발행 노드 ID(origin)를 붙여 이 노드로 되돌아온 메시지는 버리도록 합니다.
+ * origin은 수신 측이 상태 저장을 발행 노드 한 곳에서만 하도록 판별하는 데도 사용됩니다. (나머지 노드는 브로드캐스트만 수행)
+ * pub/sub 발행은 논블로킹으로 보내므로 WebSocket 수신 스레드가 PUBLISH 응답을 기다리지 않습니다.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class RedisPublisher {
 
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final ReactiveRoomRepository reactiveRoomRepository;
+    private final RoomChannelCodec channelCodec;
+    private final RoomEventStream roomEventStream;
+    private final RedisSubscriber redisSubscriber;
+    private final String nodeId;
+    private final boolean localDelivery;
+
+    public RedisPublisher(ReactiveRoomRepository reactiveRoomRepository,
+                          RoomChannelCodec channelCodec,
+                          RoomEventStream roomEventStream,
+                          RedisSubscriber redisSubscriber,
+                          SignalingRouter signalingRouter,
+                          @Value("${room.event-bus.local-delivery:true}") boolean localDelivery) {
+        this.reactiveRoomRepository = reactiveRoomRepository;
+        this.channelCodec = channelCodec;
+        this.roomEventStream = roomEventStream;
+        this.redisSubscriber = redisSubscriber;
+        this.nodeId = signalingRouter.getNodeId();
+        this.localDelivery = localDelivery;
+    }
 
     /**
      * 특정 채널(roomCode)에 메시지를 발행합니다.
@@ -27,17 +50,28 @@ public class RedisPublisher {
      */
     public void publish(String roomCode, RoomMessageDto message) {
         try {
-            // 메시지를 {"event": ..., "data": {...}} 형태로 래핑
-            var wrappedMessage = new java.util.HashMap<String, Object>();
-            wrappedMessage.put("event", message.getEvent());
-            wrappedMessage.put("data", message);
+            // room.event-bus.transport=stream 이면 pub/sub 대신 방 스트림에 추가 (재접속 시 재전송 가능)
+            // 스트림 모드는 eventId가 XADD 후에 정해지므로 로컬 선처리를 하지 않음
+            // origin은 상태 저장을 발행 노드 한 곳에서만 하도록 수신 측이 판별하는 데 사용
+            if (roomEventStream.isEnabled()) {
+                roomEventStream.append(roomCode, channelCodec.encode(message, nodeId));
+                return;
+            }
 
-            // 이 wrappedMessage를 직렬화해야 함
-            String payload = objectMapper.writeValueAsString(wrappedMessage);
+            // {"event": ..., "data": {...}} 형태로 한 번만 인코딩하고, 템플릿 직렬화기를 거치지 않고 바이트 그대로 발행
+            byte[] payload = channelCodec.encode(message, nodeId);
+            if (localDelivery) {
+                // 이 노드의 세션에는 Redis 왕복 없이 바로 전달 (방 메일박스 순서는 발행 순서와 같음)
+                redisSubscriber.deliverLocal(message);
+            }
 
-            redisTemplate.convertAndSend("room:" + roomCode, payload);
-            //log.info("[REDIS] Published to channel room:{} → {}", roomCode, payload);
-        } catch (JsonProcessingException e) {
+            // 같은 연결로 보낸 명령은 순서대로 처리되므로 응답을 기다리지 않아도 방 안의 발행 순서는 유지됨
+            reactiveRoomRepository.publish(channelCodec.channel(roomCode), payload)
+                    .subscribe(null, e -> {
+                        //log.error("[REDIS] Failed to publish to channel room:{}", roomCode, e);
+                    });
+            //log.info("[REDIS] Published to channel room:{}", roomCode);
+        } catch (IOException e) {
             //log.error("[REDIS] Failed to serialize message: {}", e.getMessage());
         }
     }
@@ -1,14 +1,17 @@
 package com.clov.backend.common.redis;
 
+import com.clov.backend.common.redis.repository.ReactiveRoomRepository;
 import com.clov.backend.common.redis.repository.RedisRepository;
+import com.clov.backend.common.redis.repository.RoomRoster;
 import com.clov.backend.domain.background.dto.response.BackgroundResponse;
 import com.clov.backend.domain.background.entity.Background;
 import com.clov.backend.domain.background.repository.BackgroundRepository;
 import com.clov.backend.domain.canvas.dto.CanvasStateDto;
-import com.clov.backend.domain.canvas.dto.response.FullCanvasStateResponse;
+import com.clov.backend.domain.room.websocket.StateDeltaTracker;
+import com.clov.backend.domain.room.websocket.StatePatch;
 import com.clov.backend.domain.room.websocket.WebSocketMessageSender;
+import com.clov.backend.domain.roomstate.dto.RoomChannelMessage;
 import com.clov.backend.domain.roomstate.dto.RoomMessageDto;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -16,31 +19,51 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.OffsetDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Redis에서 발행된 메시지를 수신하여 WebSocket을 통해 브로드캐스트하는 역할을 담당합니다.
  * 클라이언트가 보낸 "join-room", "update-position" 등의 이벤트를 구독하여,
  * 다른 사용자에게 "user-joined", "position-updated" 등의 형태로 전달합니다.
+ *
+ * 실시간 경로의 Redis 접근(상태 저장, 명단 확인, 스냅샷 조회)은 {@link ReactiveRoomRepository}로 수행하여
+ * Redis 응답을 기다리는 동안 방 메일박스 스레드를 붙잡지 않습니다.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class RedisSubscriber implements MessageListener {
 
-    private final ObjectMapper objectMapper;
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    private final RoomChannelCodec channelCodec;
     private final WebSocketMessageSender messageSender;
     private final RedisRepository redisRepository;
+    private final ReactiveRoomRepository reactiveRoomRepository;
     private final BackgroundRepository backgroundRepository;
+    private final StateDeltaTracker deltaTracker;
+    private final RoomEventMailbox roomEventMailbox;
+    private final RoomEventStream roomEventStream;
+    private final SignalingRouter signalingRouter;
+    private final RoomRosterCache rosterCache;
 
     @Value("${cloud.aws.s3.background-base-url}")   // 예) https://my-bucket.s3.ap-northeast-2.amazonaws.com/
     private String baseUrl;  //s3서버 url
     @Value("${cloud.aws.s3.bucket}")
     private String bucket; //버킷이름
+    @Value("${room.event-bus.local-delivery:true}")
+    private boolean localDelivery; // 발행 노드가 자기 이벤트를 프로세스 안에서 먼저 처리하는지 여부 (RedisPublisher와 동일 설정)
 
     /**
      * Redis 채널로부터 수신된 메시지를 처리합니다.
@@ -50,291 +73,269 @@ public class RedisSubscriber implements MessageListener {
 
     @Override
     public void onMessage(Message message, byte[] pattern) {
+        // 컨테이너는 구독 스레드에서 도착 순서대로 이 메서드를 호출하므로, 여기서는 방 메일박스만 고르고
+        // 디코딩부터는 방 메일박스에서 수행하여 같은 방의 메시지가 도착 순서대로 처리되게 함
+        String roomCode = channelCodec.roomCodeOf(message.getChannel());
+        byte[] body = message.getBody();
+        roomEventMailbox.submitAsync(roomCode, () -> handleChannelMessage(body));
+    }
+
+    private CompletableFuture<?> handleChannelMessage(byte[] body) {
         try {
-            String raw = new String(message.getBody());
-            //log.info("[RedisSubscriber] 수신된 원본 메시지: {}", raw);
-
-            // JSON → Map
-            String json = objectMapper.readValue(raw, String.class);
-            @SuppressWarnings("unchecked")
-            Map<String, Object> jsonMap = objectMapper.readValue(json, Map.class);
-
-            String event = (String) jsonMap.get("event");
-
-            // data 필드 내부 파싱
-            @SuppressWarnings("unchecked")
-            Map<String, Object> dataMap = (Map<String, Object>) jsonMap.get("data");
-
-            String roomCode = (String) dataMap.get("roomCode");
-            String clientIdStr = (String) dataMap.get("clientId");
-            UUID clientId = clientIdStr != null ? UUID.fromString(clientIdStr) : null;
-
-            CanvasStateDto state = null;
-            if (dataMap.get("state") != null) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> stateMap = (Map<String, Object>) dataMap.get("state");
-
-                // rotation 필드가 존재하면 0~359 범위로 정규화하고, 없으면 기본값 0을 설정
-                Integer rotationRaw = stateMap.get("rotation") != null
-                        ? ((Number) stateMap.get("rotation")).intValue() % 360
-                        : 0;
-
-                Boolean isMicOn = stateMap.get("isMicOn") != null ? (Boolean) stateMap.get("isMicOn") : false;
-                String overlay = stateMap.get("overlay") != null ? (String) stateMap.get("overlay") : null;
-                state = CanvasStateDto.builder()
-                        .x(((Number) stateMap.get("x")).intValue())
-                        .y(((Number) stateMap.get("y")).intValue())
-                        .scale(((Number) stateMap.get("scale")).doubleValue())
-                        .opacity(((Number) stateMap.get("opacity")).doubleValue())
-                        .mode(stateMap.get("mode") != null ? ((Number) stateMap.get("mode")).intValue() : null)
-                        .filter((String) stateMap.get("filter"))
-                        .rotation(rotationRaw)
-                        .isMicOn(isMicOn)
-                        .overlay(overlay)
-                        .build();
+            // 방 채널 메시지는 한 번만 인코딩된 JSON → 바로 타입으로 디코딩
+            RoomChannelMessage channelMessage = channelCodec.decode(body);
+            // 이 노드가 발행하며 이미 프로세스 안에서 처리한 메시지는 버림 (origin이 없는 이전 버전 노드의 메시지는 해당 없음)
+            if (isEcho(channelMessage) && localDelivery) {
+                return DONE;
             }
+            //log.info("[RedisSubscriber] 수신 이벤트: {} roomCode={}", channelMessage.event(), channelMessage.data().getRoomCode());
+            return handleEvent(channelMessage.event(), channelMessage.data(), null, shouldPersist(channelMessage));
+        } catch (Exception e) {
+            //log.error("[RedisSubscriber] 메시지 처리 실패 - 오류: {}", e.getMessage(), e);
+            return DONE;
+        }
+    }
+
+    /**
+     * 이 노드가 발행하는 이벤트를 Redis를 거치지 않고 바로 처리합니다. ({@link RedisPublisher} pub/sub 모드)
+     * 같은 이벤트가 채널로 되돌아오면 origin으로 걸러집니다.
+     */
+    public void deliverLocal(RoomMessageDto message) {
+        String event = message.getEvent();
+        roomEventMailbox.submitAsync(message.getRoomCode(), () -> handleEvent(event, message, null, true));
+    }
+
+    /**
+     * 스트림 전송 모드에서 방 스트림으로부터 읽은 이벤트를 처리합니다.
+     * @param eventId 스트림 이벤트 ID (클라이언트에게 eventId로 전달되어 재접속 시 기준점이 됨)
+     * @param message 디코딩된 메시지
+     */
+    public void onStreamEvent(String eventId, RoomChannelMessage message) {
+        String event = message.event();
+        RoomMessageDto received = message.data();
+        boolean persist = shouldPersist(message);
+        //log.info("[RedisSubscriber] 수신 이벤트: {} roomCode={}", event, received.getRoomCode());
+
+        // 같은 방의 이벤트는 방 메일박스에서 도착 순서대로 하나씩 처리
+        roomEventMailbox.submitAsync(received.getRoomCode(), () -> handleEvent(event, received, eventId, persist));
+    }
+
+    /**
+     * 이 노드가 발행한 메시지가 채널로 되돌아온 것인지 여부
+     */
+    private boolean isEcho(RoomChannelMessage message) {
+        return signalingRouter.getNodeId().equals(message.origin());
+    }
+
+    /**
+     * 상태 저장은 이벤트를 받은(발행한) 노드 한 곳에서만 수행합니다.
+     * origin이 없는 메시지는 이전 버전 노드가 보낸 것이므로 기존처럼 수신 노드마다 저장합니다.
+     */
+    private boolean shouldPersist(RoomChannelMessage message) {
+        return message.origin() == null || isEcho(message);
+    }
+
+    /**
+     * 재접속한 클라이언트에게 lastEventId 이후의 입장/퇴장/방장 변경/배경 변경 이벤트를 다시 보냅니다.
+     * 방 메일박스에서 실행되어야 이후 실시간 이벤트보다 먼저 전달됩니다.
+     * 상태 이벤트는 재전송하지 않으므로, 참가자 위치는 이어지는 join-room의 canvas-sync로 다시 맞춥니다.
+     * @param roomCode 방 코드
+     * @param clientId 재접속한 클라이언트 ID
+     * @param lastEventId 클라이언트가 마지막으로 받은 이벤트 ID
+     * @return 이어받기에 성공하면 true, 스트림이 잘려 이어받을 수 없으면 false
+     */
+    public boolean replay(String roomCode, String clientId, String lastEventId) {
+        if (!roomEventStream.isEnabled()) {
+            return false;
+        }
+        try {
+            Optional<List<RoomEventStream.Entry>> entries = roomEventStream.readAfter(roomCode, lastEventId);
+            if (entries.isEmpty()) {
+                return false;
+            }
+            for (RoomEventStream.Entry entry : entries.get()) {
+                Map<String, Object> payload = replayPayload(roomCode, entry.message());
+                if (payload != null) {
+                    messageSender.sendToClient(clientId, withEventId(payload, entry.id()));
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            //log.warn("[RedisSubscriber] 이벤트 재전송 실패: roomCode={}, clientId={}", roomCode, clientId, e);
+            return false;
+        }
+    }
+
+    /**
+     * 방 메일박스 스레드에서 이벤트 하나를 처리합니다.
+     * @param eventId 스트림 이벤트 ID (pub/sub 전송이면 null)
+     * @param persist 상태/배경을 Redis에 저장할지 여부 (발행 노드만 true, 나머지 노드는 브로드캐스트만 수행)
+     * @return 명단 확인 등 Redis 응답을 기다려야 하는 이벤트는 완료 시점, 나머지는 이미 완료된 Future
+     */
+    private CompletableFuture<?> handleEvent(String event, RoomMessageDto received, String eventId, boolean persist) {
+        try {
+            String roomCode = received.getRoomCode();
+            UUID clientId = received.getClientId();
+            CanvasStateDto state = received.getState() != null ? normalizeState(received.getState()) : null;
 
             switch (event) {
                 case "join-room" -> {
-                    // nickname은 redis에서 조회 (API에서 저장했기 때문)
-                    String nicknameFromRedis = redisRepository.getNickname(roomCode, clientId);
-
-                    // 전체 참가자 정보 Map<String, String>: clientId → nickname
-                    Map<String, String> participants = redisRepository.getParticipantNicknames(roomCode);
-
-                    // Map 구조로 payload 구성
-                    Map<String, Object> payload = Map.of(
-                            "event", "user-joined",
-                            "data", Map.of(
-                                    "roomCode", roomCode,
-                                    "newComer", Map.of(
-                                            "clientId", clientId.toString(),
-                                            "nickname", nicknameFromRedis
-                                    ),
-                                    "participants", participants
-                            )
-                    );
-
-                    // 브로드캐스트
-                    messageSender.broadcastToRoom(roomCode, payload);
-                    //log.info("[RedisSubscriber] join-room 처리 완료");
-
-                    FullCanvasStateResponse full = redisRepository.getCanvasState(roomCode);
-                    if (full != null && full.getParticipants() != null && !full.getParticipants().isEmpty()) {
-                        var snapshot = Map.of("event", "canvas-sync", "data", full);
-                        messageSender.sendToClient(clientId.toString(), snapshot);
-                    }
+                    // 명단 확인 → 브로드캐스트 → 스냅샷 조회를 논블로킹으로 이어 붙이고, 완료될 때까지 이 방의 다음 이벤트는 대기
+                    return rosterCache.currentAsync(roomCode)
+                            .flatMap(roster -> {
+                                // 브로드캐스트
+                                messageSender.broadcastToRoom(roomCode, withEventId(userJoinedPayload(roomCode, clientId, roster), eventId));
+                                //log.info("[RedisSubscriber] join-room 처리 완료");
+
+                                // 새 참가자는 기존 참가자의 델타 기준을 모르므로 다음 상태는 모두 키프레임으로 전송
+                                deltaTracker.forgetRoom(roomCode);
+
+                                return reactiveRoomRepository.getCanvasState(roomCode);
+                            })
+                            .doOnNext(full -> {
+                                if (full.getParticipants() != null && !full.getParticipants().isEmpty()) {
+                                    var snapshot = Map.of("event", "canvas-sync", "data", full);
+                                    messageSender.sendToClient(clientId.toString(), snapshot);
+                                }
+                            })
+                            .onErrorResume(e -> {
+                                //log.error("[RedisSubscriber] join-room 처리 실패: roomCode={}", roomCode, e);
+                                return Mono.empty();
+                            })
+                            .toFuture();
                 }
                 case "update-state" -> {
                     //log.info("[RedisSubscriber] update-state 이벤트 처리 시작");
 
-                    // 상태 저장
-                    redisRepository.saveCanvasState(roomCode, clientId, state);
-
-                    // 단일 참가자 정보 가져오기
-                    String nickname = redisRepository.getNickname(roomCode, clientId);
-                    boolean isHost = redisRepository.isHost(roomCode, clientId);
-
-                    // 단일 참가자 응답 전송
-                    Map<String, Object> stateMap = new HashMap<>();
-                    stateMap.put("x", state.getX());
-                    stateMap.put("y", state.getY());
-                    stateMap.put("scale", state.getScale());
-                    stateMap.put("opacity", state.getOpacity());
-                    if (state.getMode() != null) stateMap.put("mode", state.getMode());
-                    if (state.getFilter() != null) stateMap.put("filter", state.getFilter());
-                    if (state.getRotation() != null) stateMap.put("rotation", state.getRotation());
-                    if (state.getIsMicOn() != null) stateMap.put("isMicOn", state.getIsMicOn());
-                    if (state.getOverlay() != null) stateMap.put("overlay", state.getOverlay());
-                    Map<String, Object> data = new HashMap<>();
-                    data.put("clientId", clientId.toString());
-                    data.put("nickname", nickname != null ? nickname : ""); // or fallback
-                    data.put("isHost", isHost);
-                    data.put("state", stateMap);
-
-                    Map<String, Object> singlePayload = new HashMap<>();
-                    singlePayload.put("event", "state-updated");
-                    singlePayload.put("data", data);
-
-                    messageSender.broadcastToRoom(roomCode, singlePayload);
+                    // 상태 저장 (발행 노드에서 한 번만)
+                    if (persist) {
+                        persistAsync(roomCode, reactiveRoomRepository.saveCanvasState(roomCode, clientId, state));
+                    }
+
+                    // 마지막 브로드캐스트 대비 변경된 필드만 전송 (주기적으로 전체 키프레임)
+                    StateDeltaTracker.Delta delta = deltaTracker.diff(roomCode, clientId.toString(), state);
+                    if (delta.isEmpty()) {
+                        return DONE;
+                    }
+
+                    // 느린 세션 큐에서 같은 참가자의 프레임끼리 필드를 병합할 수 있도록 변경분을 구조 그대로 전달
+                    messageSender.broadcastStateToRoom(StatePatch.single(roomCode, clientId.toString(),
+                            delta.fields(), delta.keyframe(), state));
                     //log.info("[RedisSubscriber] update-state 처리 완료");
                 }
+                case "update-states" -> {
+                    // 컨플레이션 윈도우 동안 모인 참가자별 최신 상태 (clientId → state)
+                    Map<String, CanvasStateDto> rawStates = received.getStates();
+                    if (rawStates == null || rawStates.isEmpty()) {
+                        return DONE;
+                    }
+
+                    // 명단에 남아 있는 참가자의 상태만 반영 (퇴장과 엇갈려 늦게 도착한 배치가 퇴장한 참가자를 되살리지 않도록)
+                    return rosterCache.cachedAsync(roomCode)
+                            .doOnNext(roster -> applyStates(roomCode, roster, rawStates, persist))
+                            .onErrorResume(e -> {
+                                //log.error("[RedisSubscriber] update-states 처리 실패: roomCode={}", roomCode, e);
+                                return Mono.empty();
+                            })
+                            .toFuture();
+                }
                 /*요 배경 변경 이벤트는 안 쓰는데 혹여나 후에 필요 있을까봐 아직 안지웠습니다.*/
                 case "change-background" -> {
                     log.info("[RedisSubscriber] change-background 이벤트 처리 시작");
 
-                    // 방장 확인
-                    if (!redisRepository.isHost(roomCode, clientId)) {
-                        //log.warn("[RedisSubscriber] 비방장이 배경 변경 시도: {}", clientId);
-                        return;
-                    }
-                    
-                    // background 맵 꺼내기 요청에서 background url을 파싱하는건 보안상 좋지 않아보입니다. 클라이언트쪽에 DB에 있는 정보가 하드 코딩되어 있어야 함 
-                    // @SuppressWarnings("unchecked")
-                    // Map<String, Object> backgroundMap = (Map<String, Object>) dataMap.get("background");
-                    // if (backgroundMap == null) {
-                    //     //log.warn("[RedisSubscriber] background 필드가 누락됨");
-                    //     return;
-                    // }
-                    // String backgroundUrl = (String) backgroundMap.get("backgroundUrl"); 
-                    // String backgroundTitle = (String) backgroundMap.get("backgroundTitle");
-                    
-                    //요청에서는 backgroundId만 파싱
-                    Object backgroundIdObj = dataMap.get("backgroundId");
-                    if (backgroundIdObj == null) {
-                        log.warn("[RedisSubscriber] backgroundId 필드가 누락됨");
-                        return;
-                    }
-                    Long backgroundId = ((Number) backgroundIdObj).longValue();
-                    
-                    String backgroundUrl;
-                    String backgroundTitle;
-                    //DB에서 꺼내오기
-                    if (backgroundId == -1) {
-                        // ✅ 커스텀 배경 처리 (서비스와 동일한 로직)
-                        backgroundUrl = String.format("%sbackgrounds/%s.png", ensureSlash(baseUrl), roomCode);
-                        backgroundTitle = roomCode + "Custom";
-                    } else {
-                        // ✅ 기본 배경 처리
-                        Background bg = backgroundRepository.findById(backgroundId)
-                            .orElseThrow(() -> new IllegalArgumentException("배경이 존재하지 않습니다."));
-                        backgroundUrl = String.format("%sbackgrounds/%d.png", ensureSlash(baseUrl), bg.getBackgroundId());
-                        backgroundTitle = bg.getBackgroundTitle();
-                    }
-
-                    // time stamp 추가  
-                    String cacheBustedUrl = backgroundUrl + "?v=" + System.currentTimeMillis();
-                    // Redis에 배경 저장
-                    redisRepository.saveBackground(roomCode, new CanvasStateDto.BackgroundDto(backgroundUrl, backgroundTitle));
-
-                    // 클라이언트에게 브로드캐스트
-                    var broadcast = Map.of(
-                            "event", "background-changed",
-                            "data", Map.of(
-                                    "roomCode", roomCode,
-                                    "background", Map.of(
-                                            "backgroundUrl", cacheBustedUrl,
-                                            "backgroundTitle", backgroundTitle
-                                    )
-                            )
-                    );
-                    messageSender.broadcastToRoom(roomCode, broadcast);
-                    //log.info("[RedisSubscriber] background-changed 브로드캐스트 완료");
+                    // 방장 확인 후 배경 변경 (DB 조회와 저장은 Redis I/O 스레드가 아닌 곳에서 수행)
+                    return whenHost(roomCode, clientId, Mono.just(received)
+                            .publishOn(Schedulers.boundedElastic())
+                            .doOnNext(r -> changeBackground(roomCode, r, eventId, persist)));
                 }
 
                 case "start-recording" -> {
                     //log.info("[RedisSubscriber] start-recording 이벤트 처리 시작");
 
-                    // 방장 권한 확인
-                    if (!redisRepository.isHost(roomCode, clientId)) {
-                        //log.warn("[RedisSubscriber] 비방장이 녹화 시작 시도: {}", clientId);
-                        return;
-                    }
-
-                    // duration 가져오기
-                    Integer duration = (Integer) dataMap.getOrDefault("duration", 30); // 기본 30초
-
-                    // countdown-start 이벤트 생성 (type: video)
-                    var payload = Map.of(
-                            "event", "countdown-start",
-                            "data", Map.of(
-                                    "roomCode", roomCode,
-                                    "startedAt", OffsetDateTime.now().toString(),
-                                    "duration", duration+3,
-                                    "type", "video"
-                            )
-                    );
-
-                    messageSender.broadcastToRoom(roomCode, payload);
-                    //log.info("[RedisSubscriber] start-recording 처리 완료");
+                    // 방장 권한 확인 후 카운트다운 브로드캐스트
+                    return whenHost(roomCode, clientId, Mono.fromRunnable(() -> {
+                        // duration 가져오기
+                        Integer duration = received.getDuration() != null ? received.getDuration() : 30; // 기본 30초
+
+                        // countdown-start 이벤트 생성 (type: video)
+                        var payload = Map.of(
+                                "event", "countdown-start",
+                                "data", Map.of(
+                                        "roomCode", roomCode,
+                                        "startedAt", OffsetDateTime.now().toString(),
+                                        "duration", duration+3,
+                                        "type", "video"
+                                )
+                        );
+
+                        messageSender.broadcastToRoom(roomCode, payload);
+                        //log.info("[RedisSubscriber] start-recording 처리 완료");
+                    }));
                 }
 
 
                 case "start-photo" -> {
                     //log.info("[RedisSubscriber] start-photo 이벤트 처리 시작");
 
-                    // 방장 권한 확인
-                    if (!redisRepository.isHost(roomCode, clientId)) {
-                        //log.warn("[RedisSubscriber] 비방장이 사진 촬영 시도: {}", clientId);
-                        return;
-                    }
-
-                    // countdown-start 이벤트 생성 (type: photo, duration 고정 3초)
-                    var payload = Map.of(
-                            "event", "countdown-start",
-                            "data", Map.of(
-                                    "roomCode", roomCode,
-                                    "startedAt", OffsetDateTime.now().toString(),
-                                    "duration", 3,
-                                    "type", "photo"
-                            )
-                    );
-
-                    messageSender.broadcastToRoom(roomCode, payload);
-                    //log.info("[RedisSubscriber] start-photo 처리 완료");
+                    // 방장 권한 확인 후 카운트다운 브로드캐스트
+                    return whenHost(roomCode, clientId, Mono.fromRunnable(() -> {
+                        // countdown-start 이벤트 생성 (type: photo, duration 고정 3초)
+                        var payload = Map.of(
+                                "event", "countdown-start",
+                                "data", Map.of(
+                                        "roomCode", roomCode,
+                                        "startedAt", OffsetDateTime.now().toString(),
+                                        "duration", 3,
+                                        "type", "photo"
+                                )
+                        );
+
+                        messageSender.broadcastToRoom(roomCode, payload);
+                        //log.info("[RedisSubscriber] start-photo 처리 완료");
+                    }));
                 }
 
                 case "assign-host" -> {
                     //log.info("[RedisSubscriber] assign-host 이벤트 처리 시작");
 
-                    String fromClientIdStr = (String) dataMap.get("from");
-                    String toClientIdStr = (String) dataMap.get("to");
+                    String fromClientIdStr = received.getFrom();
+                    String toClientIdStr = received.getTo();
 
                     if (fromClientIdStr == null || toClientIdStr == null) {
                         //log.warn("[RedisSubscriber] 필수 필드 누락 - from: {}, to: {}", fromClientIdStr, toClientIdStr);
-                        return;
+                        return DONE;
                     }
 
-                    // 닉네임 조회
-                    Map<String, String> participants = redisRepository.getParticipantNicknames(roomCode);
-                    String previousNickname = participants.getOrDefault(fromClientIdStr, "");
-                    String newNickname = participants.getOrDefault(toClientIdStr, "");
-
-                    Map<String, Object> payload = Map.of(
-                            "event", "host-changed",
-                            "data", Map.of(
-                                    "roomCode", roomCode,
-                                    "newHost", Map.of(
-                                            "clientId", toClientIdStr,
-                                            "nickname", newNickname
-                                    ),
-                                    "previousHost", Map.of(
-                                            "clientId", fromClientIdStr,
-                                            "nickname", previousNickname
-                                    )
-                            )
-                    );
-
-                    messageSender.broadcastToRoom(roomCode, payload);
-                    //log.info("[RedisSubscriber] assign-host 브로드캐스트 완료: {} → {}", fromClientIdStr, toClientIdStr);
+                    // 닉네임은 명단을 논블로킹으로 확인한 뒤 채움
+                    return rosterCache.currentAsync(roomCode)
+                            .doOnNext(roster -> {
+                                Map<String, Object> payload = hostChangedPayload(roomCode, fromClientIdStr, toClientIdStr, roster);
+                                messageSender.broadcastToRoom(roomCode, withEventId(payload, eventId));
+                                rosterCache.changeHost(roomCode, toClientIdStr);
+                                //log.info("[RedisSubscriber] assign-host 브로드캐스트 완료: {} → {}", fromClientIdStr, toClientIdStr);
+                            })
+                            .onErrorResume(e -> {
+                                //log.error("[RedisSubscriber] assign-host 처리 실패: roomCode={}", roomCode, e);
+                                return Mono.empty();
+                            })
+                            .toFuture();
                 }
                 case "leave-room" -> {
                     //log.info("[RedisSubscriber] leave-room 이벤트 처리 시작");
-                    boolean isHost = redisRepository.isHost(roomCode, clientId);
-
-                    //닉네임도 출력하기 위해..
-                    String nicknameFromRedis = redisRepository.getNickname(roomCode, clientId);
-                    // 나가고 참여중인 사람들 다시 불러오기
-                    Map<String, String> participants = redisRepository.getParticipantNicknames(roomCode);
-
-                    // event, data 구조로 응답 구성
-                    Map<String, Object> payload = Map.of(
-                            "event", "user-left",
-                            "data", Map.of(
-                                    "roomCode", roomCode,
-                                    "lastLeaver", Map.of(
-                                            "clientId", clientId.toString(),
-                                            "nickname", nicknameFromRedis,
-                                            "isHost", isHost
-                                    ),
-                                    "participants", participants
-                            )
-                    );
-
-                    // WebSocket으로 브로드캐스트
-                    messageSender.broadcastToRoom(roomCode, payload);
-
-                    //log.info("[RedisSubscriber] leave-room 처리 완료");
+                    return rosterCache.currentAsync(roomCode)
+                            .doOnNext(roster -> {
+                                // WebSocket으로 브로드캐스트
+                                messageSender.broadcastToRoom(roomCode, withEventId(userLeftPayload(roomCode, clientId, roster), eventId));
+                                deltaTracker.forgetParticipant(roomCode, clientId.toString());
+                                rosterCache.removeParticipant(roomCode, clientId);
+
+                                //log.info("[RedisSubscriber] leave-room 처리 완료");
+                            })
+                            .onErrorResume(e -> {
+                                //log.error("[RedisSubscriber] leave-room 처리 실패: roomCode={}", roomCode, e);
+                                return Mono.empty();
+                            })
+                            .toFuture();
                 }
                 default -> {
                     //log.warn("[RedisSubscriber] 정의되지 않은 이벤트 수신됨: {}", event);
@@ -343,9 +344,248 @@ public class RedisSubscriber implements MessageListener {
         } catch (Exception e) {
             //log.error("[RedisSubscriber] 메시지 처리 실패 - 오류: {}", e.getMessage(), e);
         }
+        return DONE;
     }
 
+    /**
+     * 방장이 요청한 배경을 DB에서 찾아 저장하고 background-changed를 브로드캐스트합니다.
+     */
+    private void changeBackground(String roomCode, RoomMessageDto received, String eventId, boolean persist) {
+        // background 맵 꺼내기 요청에서 background url을 파싱하는건 보안상 좋지 않아보입니다. 클라이언트쪽에 DB에 있는 정보가 하드 코딩되어 있어야 함 
+        // @SuppressWarnings("unchecked")
+        // Map<String, Object> backgroundMap = (Map<String, Object>) dataMap.get("background");
+        // if (backgroundMap == null) {
+        //     //log.warn("[RedisSubscriber] background 필드가 누락됨");
+        //     return;
+        // }
+        // String backgroundUrl = (String) backgroundMap.get("backgroundUrl"); 
+        // String backgroundTitle = (String) backgroundMap.get("backgroundTitle");
     
+        //요청에서는 backgroundId만 파싱
+        Long backgroundId = received.getBackgroundId();
+        if (backgroundId == null) {
+            log.warn("[RedisSubscriber] backgroundId 필드가 누락됨");
+            return;
+        }
+    
+        String backgroundUrl;
+        String backgroundTitle;
+        //DB에서 꺼내오기
+        if (backgroundId == -1) {
+            // ✅ 커스텀 배경 처리 (서비스와 동일한 로직)
+            backgroundUrl = String.format("%sbackgrounds/%s.png", ensureSlash(baseUrl), roomCode);
+            backgroundTitle = roomCode + "Custom";
+        } else {
+            // ✅ 기본 배경 처리
+            Background bg = backgroundRepository.findById(backgroundId)
+                .orElseThrow(() -> new IllegalArgumentException("배경이 존재하지 않습니다."));
+            backgroundUrl = String.format("%sbackgrounds/%d.png", ensureSlash(baseUrl), bg.getBackgroundId());
+            backgroundTitle = bg.getBackgroundTitle();
+        }
+
+        // time stamp 추가  
+        String cacheBustedUrl = backgroundUrl + "?v=" + System.currentTimeMillis();
+        // Redis에 배경 저장 (발행 노드에서 한 번만)
+        if (persist) {
+            redisRepository.saveBackground(roomCode, new CanvasStateDto.BackgroundDto(backgroundUrl, backgroundTitle));
+        }
+
+        // 클라이언트에게 브로드캐스트
+        var broadcast = backgroundChangedPayload(roomCode, cacheBustedUrl, backgroundTitle);
+        messageSender.broadcastToRoom(roomCode, withEventId(broadcast, eventId));
+        //log.info("[RedisSubscriber] background-changed 브로드캐스트 완료");
+    }
+
+    /**
+     * 방장 권한을 명단 캐시로 논블로킹 확인한 뒤 action을 실행합니다. 방장이 아니면 무시합니다.
+     * @return action이 끝나면 완료되는 Future (메일박스는 완료될 때까지 이 방의 다음 이벤트를 대기)
+     */
+    private CompletableFuture<?> whenHost(String roomCode, UUID clientId, Mono<?> action) {
+        return rosterCache.currentAsync(roomCode)
+                .filter(roster -> roster.isHost(clientId))
+                .flatMap(roster -> action)
+                .onErrorResume(e -> {
+                    //log.error("[RedisSubscriber] 방장 이벤트 처리 실패: roomCode={}", roomCode, e);
+                    return Mono.empty();
+                })
+                .toFuture();
+    }
+
+    /**
+     * 컨플레이션 배치 중 명단에 있는 참가자의 상태만 저장하고, 변경된 필드를 한 프레임으로 브로드캐스트합니다.
+     */
+    private void applyStates(String roomCode, RoomRoster roster, Map<String, CanvasStateDto> rawStates, boolean persist) {
+        Map<String, CanvasStateDto> states = new LinkedHashMap<>();
+        rawStates.forEach((id, rawState) -> {
+            if (roster.nicknames().containsKey(id)) {
+                states.put(id, normalizeState(rawState));
+            }
+        });
+        if (states.isEmpty()) {
+            return;
+        }
+
+        // 상태 저장 (발행 노드에서 HSET 한 번)
+        if (persist) {
+            persistAsync(roomCode, reactiveRoomRepository.saveCanvasStates(roomCode, states));
+        }
+
+        // 참가자별 델타 계산, 변경이 없는 참가자는 제외
+        Map<String, StatePatch.Entry> entries = new LinkedHashMap<>();
+        states.forEach((id, s) -> {
+            StateDeltaTracker.Delta delta = deltaTracker.diff(roomCode, id, s);
+            if (delta.isEmpty()) {
+                return;
+            }
+            entries.put(id, new StatePatch.Entry(delta.fields(), delta.keyframe(), s));
+        });
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        // 배치 프레임도 참가자별 변경분을 그대로 담아, 느린 세션 큐에서 참가자 단위로 병합되게 함
+        messageSender.broadcastStateToRoom(new StatePatch(roomCode, entries, true));
+    }
+
+    /**
+     * 상태 저장은 응답을 기다리지 않고 보냅니다. 같은 연결로 보낸 명령은 순서대로 처리되므로 이후 저장보다 늦게 반영되지 않습니다.
+     */
+    private void persistAsync(String roomCode, Mono<?> write) {
+        write.subscribe(null, e -> {
+            //log.warn("[RedisSubscriber] 상태 저장 실패: roomCode={}", roomCode, e);
+        });
+    }
+
+    /**
+     * 재전송 대상 이벤트를 클라이언트 메시지로 변환합니다. 저장 등 부수 효과 없이 현재 Redis 상태로 메시지만 구성합니다.
+     * @return 재전송 대상이 아니면 null (상태 이동, 카운트다운 등)
+     */
+    private Map<String, Object> replayPayload(String roomCode, RoomChannelMessage message) {
+        RoomMessageDto data = message.data();
+        return switch (message.event()) {
+            case "join-room" -> userJoinedPayload(roomCode, data.getClientId(), rosterCache.current(roomCode));
+            case "leave-room" -> userLeftPayload(roomCode, data.getClientId(), rosterCache.current(roomCode));
+            case "assign-host" -> data.getFrom() != null && data.getTo() != null
+                    ? hostChangedPayload(roomCode, data.getFrom(), data.getTo(), rosterCache.current(roomCode))
+                    : null;
+            // 배경은 URL 계산에 DB 조회가 필요하므로 현재 저장된 배경으로 전달
+            case "change-background" -> redisRepository.findBackground(roomCode)
+                    .map(bg -> backgroundChangedPayload(roomCode, bg.getBackgroundUrl(), bg.getBackgroundTitle()))
+                    .orElse(null);
+            default -> null;
+        };
+    }
+
+    private Map<String, Object> userJoinedPayload(String roomCode, UUID clientId, RoomRoster roster) {
+        // nickname은 API에서 redis에 저장 → 명단 버전이 바뀌었을 때만 다시 읽음
+        String nicknameFromRedis = roster.nickname(clientId);
+
+        // 전체 참가자 정보 Map<String, String>: clientId → nickname
+        Map<String, String> participants = roster.nicknames();
+
+        return Map.of(
+                "event", "user-joined",
+                "data", Map.of(
+                        "roomCode", roomCode,
+                        "newComer", Map.of(
+                                "clientId", clientId.toString(),
+                                "nickname", Objects.requireNonNullElse(nicknameFromRedis, "")
+                        ),
+                        "participants", participants
+                )
+        );
+    }
+
+    private Map<String, Object> userLeftPayload(String roomCode, UUID clientId, RoomRoster roster) {
+        boolean isHost = roster.isHost(clientId);
+
+        //닉네임도 출력하기 위해..
+        String nicknameFromRedis = roster.nickname(clientId);
+        // 나가고 참여중인 사람들
+        Map<String, String> participants = new HashMap<>(roster.nicknames());
+        participants.remove(clientId.toString());
+
+        return Map.of(
+                "event", "user-left",
+                "data", Map.of(
+                        "roomCode", roomCode,
+                        "lastLeaver", Map.of(
+                                "clientId", clientId.toString(),
+                                "nickname", Objects.requireNonNullElse(nicknameFromRedis, ""),
+                                "isHost", isHost
+                        ),
+                        "participants", participants
+                )
+        );
+    }
+
+    private Map<String, Object> hostChangedPayload(String roomCode, String fromClientIdStr, String toClientIdStr, RoomRoster roster) {
+        // 닉네임 조회
+        Map<String, String> participants = roster.nicknames();
+        String previousNickname = participants.getOrDefault(fromClientIdStr, "");
+        String newNickname = participants.getOrDefault(toClientIdStr, "");
+
+        return Map.of(
+                "event", "host-changed",
+                "data", Map.of(
+                        "roomCode", roomCode,
+                        "newHost", Map.of(
+                                "clientId", toClientIdStr,
+                                "nickname", newNickname
+                        ),
+                        "previousHost", Map.of(
+                                "clientId", fromClientIdStr,
+                                "nickname", previousNickname
+                        )
+                )
+        );
+    }
+
+    private Map<String, Object> backgroundChangedPayload(String roomCode, String backgroundUrl, String backgroundTitle) {
+        return Map.of(
+                "event", "background-changed",
+                "data", Map.of(
+                        "roomCode", roomCode,
+                        "background", Map.of(
+                                "backgroundUrl", backgroundUrl,
+                                "backgroundTitle", backgroundTitle
+                        )
+                )
+        );
+    }
+
+    /**
+     * 스트림 전송 모드면 메시지 최상위에 eventId를 붙입니다. (클라이언트가 재접속 시 lastEventId로 사용)
+     */
+    private Map<String, Object> withEventId(Map<String, Object> payload, String eventId) {
+        if (eventId == null) {
+            return payload;
+        }
+        Map<String, Object> tagged = new LinkedHashMap<>(payload);
+        tagged.put("eventId", eventId);
+        return tagged;
+    }
+
+    /**
+     * 수신한 상태를 정규화합니다.
+     * rotation 필드가 존재하면 0~359 범위로 정규화하고, 없으면 기본값 0을 설정합니다. isMicOn이 없으면 false로 봅니다.
+     */
+    private CanvasStateDto normalizeState(CanvasStateDto state) {
+        Integer rotation = state.getRotation() != null ? state.getRotation() % 360 : 0;
+        Boolean isMicOn = state.getIsMicOn() != null ? state.getIsMicOn() : false;
+        return CanvasStateDto.builder()
+                .x(state.getX())
+                .y(state.getY())
+                .scale(state.getScale())
+                .opacity(state.getOpacity())
+                .mode(state.getMode())
+                .filter(state.getFilter())
+                .rotation(rotation)
+                .isMicOn(isMicOn)
+                .overlay(state.getOverlay())
+                .build();
+    }
+
     /** baseUrl에 끝 슬래시가 없을 때 하나 붙여줌 */
     private String ensureSlash(String url) {
         return url.endsWith("/") ? url : url + "/";
@@ -0,0 +1,92 @@
+package com.clov.backend.common.redis;
+
+import com.clov.backend.domain.roomstate.dto.RoomChannelMessage;
+import com.clov.backend.domain.roomstate.dto.RoomMessageDto;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 방 채널 메시지 코덱입니다.
+ * 이벤트를 UTF-8 JSON으로 한 번만 인코딩하여 그대로 발행하고, 수신 시 {@link RoomChannelMessage}로 바로 디코딩합니다.
+ * (기존에는 JSON 문자열을 GenericJackson2JsonRedisSerializer가 한 번 더 JSON 문자열로 감싸 두 번씩 인코딩/디코딩했음)
+ */
+@Component
+public class RoomChannelCodec {
+
+    private static final String CHANNEL_PREFIX = "room:";
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+    private final ObjectReader legacyReader;
+
+    public RoomChannelCodec(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writerFor(RoomChannelMessage.class);
+        this.reader = objectMapper.readerFor(RoomChannelMessage.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.legacyReader = objectMapper.readerFor(String.class);
+    }
+
+    /**
+     * 방 코드에 해당하는 채널 이름
+     */
+    public String channelName(String roomCode) {
+        return CHANNEL_PREFIX + roomCode;
+    }
+
+    /**
+     * 방 코드에 해당하는 채널 이름 바이트
+     */
+    public byte[] channel(String roomCode) {
+        return channelName(roomCode).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 채널 이름 바이트(room:{roomCode})에서 방 코드를 꺼냅니다. 본문을 디코딩하기 전에 방 메일박스를 고르기 위해 사용합니다.
+     */
+    public String roomCodeOf(byte[] channel) {
+        int prefix = CHANNEL_PREFIX.length();
+        return new String(channel, prefix, channel.length - prefix, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param message 발행할 메시지 (event 포함)
+     * @return UTF-8 JSON 바이트
+     */
+    public byte[] encode(RoomMessageDto message) throws IOException {
+        return encode(message, null);
+    }
+
+    /**
+     * @param message 발행할 메시지 (event 포함)
+     * @param origin 발행 노드 ID (수신 측에서 자기 발행 메시지를 거르기 위함, 없으면 null)
+     * @return UTF-8 JSON 바이트
+     */
+    public byte[] encode(RoomMessageDto message, String origin) throws IOException {
+        return writer.writeValueAsBytes(new RoomChannelMessage(message.getEvent(), message, origin));
+    }
+
+    /**
+     * 수신한 채널 메시지 바디를 디코딩합니다.
+     * 롤링 배포 중 이전 버전 노드가 보낸 이중 인코딩 문자열("{\"event\"...}")도 받아들입니다.
+     */
+    public RoomChannelMessage decode(byte[] body) throws IOException {
+        if (body.length > 0 && body[0] == '"') {
+            String json = legacyReader.readValue(body);
+            return reader.readValue(json);
+        }
+        return reader.readValue(body);
+    }
+
+    /**
+     * Redis Stream 필드처럼 문자열로 받은 메시지를 디코딩합니다.
+     */
+    public RoomChannelMessage decode(String body) throws IOException {
+        return decode(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,111 @@
+package com.clov.backend.common.redis;
+
+import com.clov.backend.domain.room.websocket.RoomPresenceListener;
+import com.clov.backend.domain.room.websocket.WebSocketSessionManager;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 이 노드에 세션이 있는 방의 room:{roomCode} 채널만 구독하도록 관리합니다.
+ * 방의 첫 세션이 등록되면 구독하고, 마지막 세션이 나가면 구독을 해제하여
+ * 노드별 pub/sub 수신량이 클러스터 전체 트래픽이 아닌 로컬 방 트래픽에 비례하도록 합니다.
+ * 스트림 전송 모드(room.event-bus.transport=stream)에서는 같은 시점에 방 스트림 구독을 관리합니다.
+ */
+@Slf4j
+@Component
+public class RoomChannelSubscriptions implements RoomPresenceListener {
+
+    private final RedisMessageListenerContainer container;
+    private final RedisSubscriber redisSubscriber;
+    private final WebSocketSessionManager sessionManager;
+    private final RoomChannelCodec channelCodec;
+    private final RoomEventStream roomEventStream;
+    private final RoomRosterCache rosterCache;
+
+    private final Set<String> subscribedRooms = ConcurrentHashMap.newKeySet();
+    // 구독/해제 통지가 뒤바뀌어 도착해도 마지막 조정이 현재 세션 상태를 반영하도록 직렬화
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public RoomChannelSubscriptions(RedisMessageListenerContainer container,
+                                    RedisSubscriber redisSubscriber,
+                                    WebSocketSessionManager sessionManager,
+                                    RoomChannelCodec channelCodec,
+                                    RoomEventStream roomEventStream,
+                                    RoomRosterCache rosterCache,
+                                    MeterRegistry meterRegistry) {
+        this.container = container;
+        this.redisSubscriber = redisSubscriber;
+        this.sessionManager = sessionManager;
+        this.channelCodec = channelCodec;
+        this.roomEventStream = roomEventStream;
+        this.rosterCache = rosterCache;
+        Gauge.builder("redis.room.subscriptions", subscribedRooms, Set::size)
+                .description("이 노드가 구독 중인 방 채널 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        sessionManager.addPresenceListener(this);
+    }
+
+    /**
+     * 통지된 값 대신 현재 세션 유무를 다시 확인하여 구독 상태를 맞춥니다.
+     * 마지막 세션 퇴장과 새 세션 입장이 동시에 일어나도 세션이 있는 방의 구독이 해제된 채로 남지 않습니다.
+     */
+    @Override
+    public void onRoomPresenceChanged(String roomCode, boolean hasLocalSessions) {
+        lock.lock();
+        try {
+            if (sessionManager.hasSubscribers(roomCode)) {
+                if (!subscribedRooms.contains(roomCode)) {
+                    // 구독이 없던 동안 놓친 명단 변경이 있을 수 있으므로 새로 읽도록 캐시를 버림
+                    rosterCache.forget(roomCode);
+                    subscribe(roomCode);
+                    subscribedRooms.add(roomCode);
+                    //log.info("[RoomChannelSubscriptions] 방 채널 구독: {}", roomCode);
+                }
+            } else if (subscribedRooms.remove(roomCode)) {
+                unsubscribe(roomCode);
+                // 구독을 해제하면 명단 변경 이벤트를 받지 못하므로 캐시도 버림
+                rosterCache.forget(roomCode);
+                //log.info("[RoomChannelSubscriptions] 방 채널 구독 해제: {}", roomCode);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 스트림 전송 모드면 pub/sub 채널 대신 방 스트림을 컨슈머 그룹으로 구독
+    private void subscribe(String roomCode) {
+        if (roomEventStream.isEnabled()) {
+            roomEventStream.subscribe(roomCode, redisSubscriber::onStreamEvent);
+        } else {
+            container.addMessageListener(redisSubscriber, new ChannelTopic(channelCodec.channelName(roomCode)));
+        }
+    }
+
+    private void unsubscribe(String roomCode) {
+        if (roomEventStream.isEnabled()) {
+            roomEventStream.unsubscribe(roomCode);
+        } else {
+            container.removeMessageListener(redisSubscriber, new ChannelTopic(channelCodec.channelName(roomCode)));
+        }
+    }
+
+    /**
+     * 현재 구독 중인 방인지 여부
+     */
+    public boolean isSubscribed(String roomCode) {
+        return subscribedRooms.contains(roomCode);
+    }
+}
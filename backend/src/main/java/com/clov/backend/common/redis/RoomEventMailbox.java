@@ -0,0 +1,196 @@
+package com.clov.backend.common.redis;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 방 단위 액터 방식의 이벤트 메일박스입니다.
+ * 같은 방의 이벤트(update-states, leave-room, assign-host, 연결 종료 퇴장 처리 등)는 도착 순서대로 하나씩 실행되고,
+ * 서로 다른 방의 이벤트는 공용 Executor에서 병렬로 실행됩니다.
+ * 방마다 스레드를 두지 않고, 처리할 이벤트가 있는 방의 메일박스만 drain 작업으로 예약합니다.
+ *
+ * 방 코드를 키로 하는 스트라이프 Executor와 같은 역할이지만, 고정 스트라이프 대신 방마다 큐를 두므로
+ * 한 방이 밀려도 같은 스트라이프의 다른 방이 함께 기다리지 않습니다.
+ * 방 수만큼 태그가 늘어나지 않도록 대기 이벤트 수, 가장 긴 방 큐 길이, 대기 시간은 노드 단위로 집계합니다.
+ *
+ * 논블로킹 Redis 호출을 포함하는 이벤트는 {@link #submitAsync}로 넣습니다. 반환된 Future가 끝날 때까지
+ * 같은 방의 다음 이벤트는 대기하지만, 그동안 실행 스레드는 반납되어 다른 방의 이벤트를 처리합니다.
+ */
+@Slf4j
+@Component
+public class RoomEventMailbox {
+
+    /** drain 한 번에 처리할 최대 이벤트 수 (다른 방에 스레드를 양보하기 위함) */
+    private static final int MAX_EVENTS_PER_DRAIN = 64;
+
+    private final Map<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final TaskExecutor executor;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Timer waitTimer;
+
+    public RoomEventMailbox(MeterRegistry meterRegistry,
+                            @Value("${room.mailbox.threads:0}") int threads,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("room-actor-");
+            virtual.setVirtualThreads(true);
+            this.executor = virtual;
+        } else {
+            int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setCorePoolSize(size);
+            pool.setMaxPoolSize(size);
+            pool.setThreadNamePrefix("room-actor-");
+            pool.initialize();
+            this.executor = pool;
+        }
+
+        Gauge.builder("room.mailbox.pending", pending, AtomicInteger::get)
+                .description("방 메일박스에서 처리 대기 중인 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("room.mailbox.max-depth", this, RoomEventMailbox::getMaxDepth)
+                .description("가장 많이 밀린 방의 대기 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("room.mailbox.rooms", mailboxes, Map::size)
+                .description("처리 대기 중인 이벤트가 있는 방 수")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("room.mailbox.wait")
+                .description("이벤트가 메일박스에 들어간 뒤 실행되기까지의 대기 시간")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 방의 메일박스에 이벤트를 넣습니다. 같은 방의 이전 이벤트가 끝난 뒤에 실행됩니다.
+     * @param roomCode 방 코드
+     * @param task 실행할 이벤트 처리
+     */
+    public void submit(String roomCode, Runnable task) {
+        submitAsync(roomCode, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * 비동기 처리를 포함하는 이벤트를 넣습니다. 반환된 Future가 완료된 뒤에 같은 방의 다음 이벤트가 실행됩니다.
+     * @param roomCode 방 코드
+     * @param task 실행할 이벤트 처리 (동기 처리만 있으면 null 또는 완료된 Future 반환)
+     */
+    public void submitAsync(String roomCode, Supplier<? extends CompletableFuture<?>> task) {
+        // 추가와 빈 메일박스 제거가 같은 키 잠금 안에서 일어나므로, 한 방에 두 메일박스가 동시에 돌지 않는다
+        Mailbox mailbox = mailboxes.compute(roomCode, (k, existing) -> {
+            Mailbox m = existing != null ? existing : new Mailbox();
+            m.tasks.add(new Task(task, System.nanoTime()));
+            m.depth.incrementAndGet();
+            return m;
+        });
+        pending.incrementAndGet();
+        schedule(roomCode, mailbox);
+    }
+
+    /**
+     * 처리 대기 중인 이벤트가 있는 방의 수
+     */
+    public int getActiveRoomCount() {
+        return mailboxes.size();
+    }
+
+    /**
+     * 가장 많이 밀린 방의 대기 이벤트 수
+     */
+    public int getMaxDepth() {
+        int max = 0;
+        for (Mailbox mailbox : mailboxes.values()) {
+            max = Math.max(max, mailbox.depth.get());
+        }
+        return max;
+    }
+
+    private void schedule(String roomCode, Mailbox mailbox) {
+        if (mailbox.running.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(roomCode, mailbox));
+            } catch (Exception e) {
+                mailbox.running.set(false);
+                //log.error("[RoomEventMailbox] drain 예약 실패: roomCode={}", roomCode, e);
+            }
+        }
+    }
+
+    private void drain(String roomCode, Mailbox mailbox) {
+        for (int i = 0; i < MAX_EVENTS_PER_DRAIN; i++) {
+            Task task = mailbox.tasks.poll();
+            if (task == null) {
+                break;
+            }
+            mailbox.depth.decrementAndGet();
+            pending.decrementAndGet();
+            waitTimer.record(System.nanoTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+
+            CompletableFuture<?> future = null;
+            try {
+                future = task.body().get();
+            } catch (Exception e) {
+                //log.error("[RoomEventMailbox] 이벤트 처리 실패: roomCode={}", roomCode, e);
+            }
+            if (future != null && !future.isDone()) {
+                // running 을 유지한 채 스레드를 반납하고, 완료 시점에 이어서 drain
+                future.whenComplete((result, e) -> resume(roomCode, mailbox));
+                return;
+            }
+        }
+        mailbox.running.set(false);
+
+        if (!mailbox.tasks.isEmpty()) {
+            schedule(roomCode, mailbox);
+            return;
+        }
+        // 비어 있는 방의 메일박스는 제거 (그 사이 이벤트가 들어왔으면 유지)
+        mailboxes.computeIfPresent(roomCode, (k, m) ->
+                m == mailbox && m.tasks.isEmpty() && !m.running.get() ? null : m);
+    }
+
+    private void resume(String roomCode, Mailbox mailbox) {
+        try {
+            executor.execute(() -> drain(roomCode, mailbox));
+        } catch (Exception e) {
+            mailbox.running.set(false);
+            //log.error("[RoomEventMailbox] drain 재개 실패: roomCode={}", roomCode, e);
+        }
+    }
+
+    private record Task(Supplier<? extends CompletableFuture<?>> body, long enqueuedAt) {
+    }
+
+    private static final class Mailbox {
+        private final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final AtomicBoolean running = new AtomicBoolean(false);
+    }
+}
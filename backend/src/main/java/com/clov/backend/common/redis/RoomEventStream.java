@@ -0,0 +1,249 @@
+package com.clov.backend.common.redis;
+
+import com.clov.backend.domain.roomstate.dto.RoomChannelMessage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamReadRequest;
+import org.springframework.data.redis.stream.Subscription;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * 방 이벤트를 Redis Stream(room:stream:{roomCode})으로 전달하는 선택적 전송 계층입니다.
+ * room.event-bus.transport=stream 일 때만 활성화되며, pub/sub과 달리 이벤트가 길이 제한이 있는 스트림에 남으므로
+ * 재접속한 클라이언트가 마지막으로 받은 이벤트 ID 이후의 이벤트를 다시 받을 수 있습니다.
+ *
+ * 노드마다 nodeId 이름의 컨슈머 그룹을 두어 모든 노드가 방의 모든 이벤트를 받고(팬아웃),
+ * 그룹은 이 노드에 해당 방의 세션이 있는 동안에만 유지합니다.
+ */
+@Slf4j
+@Component
+public class RoomEventStream {
+
+    private static final String KEY_PREFIX = "room:stream:";
+    private static final byte[] PAYLOAD_FIELD = "m".getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final RoomChannelCodec channelCodec;
+    private final String nodeId;
+    private final long maxLength;
+    private final long ttlSeconds;
+    private final int replayLimit;
+    private final boolean virtualThreads;
+
+    @Getter
+    private final boolean enabled;
+
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+
+    public RoomEventStream(StringRedisTemplate stringRedisTemplate,
+                           RedisConnectionFactory redisConnectionFactory,
+                           RoomChannelCodec channelCodec,
+                           SignalingRouter signalingRouter,
+                           @Value("${room.event-bus.transport:pubsub}") String transport,
+                           @Value("${room.event-bus.stream.max-len:10000}") long maxLength,
+                           @Value("${room.event-bus.stream.ttl-seconds:21600}") long ttlSeconds,
+                           @Value("${room.event-bus.stream.replay-limit:500}") int replayLimit,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.channelCodec = channelCodec;
+        this.nodeId = signalingRouter.getNodeId();
+        this.maxLength = maxLength;
+        this.ttlSeconds = ttlSeconds;
+        this.replayLimit = replayLimit;
+        this.virtualThreads = virtualThreads;
+        this.enabled = "stream".equalsIgnoreCase(transport);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        // 구독(방)마다 블로킹 XREADGROUP 루프가 스레드 하나를 차지하므로 고정 크기 풀 대신 방마다 스레드를 만든다
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("room-stream-");
+        executor.setVirtualThreads(virtualThreads);
+
+        StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+                StreamMessageListenerContainerOptions.builder()
+                        .pollTimeout(Duration.ofSeconds(1))
+                        .batchSize(100)
+                        .executor(executor)
+                        .build();
+        container = StreamMessageListenerContainer.create(redisConnectionFactory, options);
+        container.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (container != null) {
+            new ArrayList<>(subscriptions.keySet()).forEach(this::unsubscribe);
+            container.stop();
+        }
+    }
+
+    /**
+     * 방 스트림 키
+     */
+    public String key(String roomCode) {
+        return KEY_PREFIX + roomCode;
+    }
+
+    /**
+     * 인코딩된 방 이벤트를 스트림에 추가합니다. (XADD MAXLEN ~ + EXPIRE 를 한 번의 파이프라인으로 전송)
+     * @param roomCode 방 코드
+     * @param payload {@link RoomChannelCodec}으로 인코딩된 이벤트
+     */
+    public void append(String roomCode, byte[] payload) {
+        byte[] rawKey = key(roomCode).getBytes(StandardCharsets.UTF_8);
+        MapRecord<byte[], byte[], byte[]> record = StreamRecords.newRecord()
+                .in(rawKey)
+                .ofMap(Map.of(PAYLOAD_FIELD, payload));
+        XAddOptions options = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.streamCommands().xAdd(record, options);
+            connection.keyCommands().expire(rawKey, ttlSeconds);
+            return null;
+        });
+    }
+
+    /**
+     * 이 노드의 컨슈머 그룹으로 방 스트림을 구독합니다. 그룹은 항상 현재 끝($)에서 시작하여,
+     * 이전에 정리되지 못한 그룹이 남아 있어도 지난 이벤트를 다시 처리하지 않습니다.
+     * @param roomCode 방 코드
+     * @param listener (이벤트 ID, 디코딩된 메시지)를 받을 리스너
+     */
+    public void subscribe(String roomCode, BiConsumer<String, RoomChannelMessage> listener) {
+        String key = key(roomCode);
+        try {
+            stringRedisTemplate.opsForStream().createGroup(key, ReadOffset.latest(), nodeId);
+        } catch (Exception busyGroup) {
+            stringRedisTemplate.opsForStream().destroyGroup(key, nodeId);
+            stringRedisTemplate.opsForStream().createGroup(key, ReadOffset.latest(), nodeId);
+        }
+
+        StreamReadRequest<String> request = StreamReadRequest.builder(StreamOffset.create(key, ReadOffset.lastConsumed()))
+                // 일시적인 Redis 오류로 구독이 조용히 끊기지 않도록 계속 폴링
+                .cancelOnError(e -> false)
+                .errorHandler(e -> {
+                    //log.warn("[RoomEventStream] 스트림 읽기 실패: {}", key, e);
+                })
+                .consumer(Consumer.from(nodeId, nodeId))
+                .autoAcknowledge(true)
+                .build();
+
+        Subscription subscription = container.register(request, record -> {
+            try {
+                String payload = record.getValue().get("m");
+                listener.accept(record.getId().getValue(), channelCodec.decode(payload));
+            } catch (Exception e) {
+                //log.error("[RoomEventStream] 스트림 이벤트 디코딩 실패: {}", key, e);
+            }
+        });
+        Subscription previous = subscriptions.put(roomCode, subscription);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * 방 스트림 구독을 중단하고 이 노드의 컨슈머 그룹을 제거합니다.
+     */
+    public void unsubscribe(String roomCode) {
+        Subscription subscription = subscriptions.remove(roomCode);
+        if (subscription == null) {
+            return;
+        }
+        subscription.cancel();
+        try {
+            stringRedisTemplate.opsForStream().destroyGroup(key(roomCode), nodeId);
+        } catch (Exception e) {
+            //log.warn("[RoomEventStream] 컨슈머 그룹 제거 실패: {}", roomCode, e);
+        }
+    }
+
+    /**
+     * lastEventId 다음부터의 방 이벤트를 읽습니다.
+     * 그 사이 이벤트가 길이 제한으로 잘려 나갔거나 replay-limit 을 넘게 밀려 있으면 이어받을 수 없으므로 빈 값을 반환합니다.
+     * @param roomCode 방 코드
+     * @param lastEventId 클라이언트가 마지막으로 받은 이벤트 ID
+     * @return 순서대로 정렬된 이벤트 목록, 이어받을 수 없으면 Optional.empty()
+     */
+    public Optional<List<Entry>> readAfter(String roomCode, String lastEventId) {
+        RecordId last;
+        try {
+            last = RecordId.of(lastEventId);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        String key = key(roomCode);
+
+        List<MapRecord<String, Object, Object>> oldest = stringRedisTemplate.opsForStream()
+                .range(key, Range.unbounded(), Limit.limit().count(1));
+        if (oldest == null || oldest.isEmpty() || isAfter(oldest.get(0).getId(), last)) {
+            // 스트림이 없거나, 가장 오래된 항목이 lastEventId 이후 → 사이 이벤트가 잘렸을 수 있음
+            return Optional.empty();
+        }
+
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                .range(key, Range.rightUnbounded(Range.Bound.exclusive(last.getValue())),
+                        Limit.limit().count(replayLimit + 1));
+        if (records == null || records.size() > replayLimit) {
+            return Optional.empty();
+        }
+
+        List<Entry> entries = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            try {
+                Object payload = record.getValue().get("m");
+                entries.add(new Entry(record.getId().getValue(), channelCodec.decode(String.valueOf(payload))));
+            } catch (Exception e) {
+                //log.warn("[RoomEventStream] 재전송 이벤트 디코딩 실패: {}", record.getId(), e);
+            }
+        }
+        return Optional.of(entries);
+    }
+
+    private static boolean isAfter(RecordId a, RecordId b) {
+        int byTime = Long.compare(a.getTimestamp(), b.getTimestamp());
+        return byTime != 0 ? byTime > 0 : a.getSequence() > b.getSequence();
+    }
+
+    /**
+     * 스트림에서 읽은 방 이벤트
+     * @param id 스트림 이벤트 ID (클라이언트의 lastEventId)
+     * @param message 디코딩된 메시지
+     */
+    public record Entry(String id, RoomChannelMessage message) {
+    }
+}
@@ -0,0 +1,109 @@
+package com.clov.backend.common.redis;
+
+import com.clov.backend.common.redis.repository.ReactiveRoomRepository;
+import com.clov.backend.common.redis.repository.RedisRepository;
+import com.clov.backend.common.redis.repository.RoomRoster;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 노드 로컬 방 참가자 명단 캐시입니다. (clientId → 닉네임, 방장)
+ * 입장/퇴장/방장 변경 이벤트와 방장 권한 확인 시 Redis 명단 버전(GET 한 번)만 확인하여 바뀌었을 때만 명단 전체를 다시 읽습니다.
+ * 방장 변경은 다른 노드에서 먼저 반영될 수 있으므로 권한 확인도 버전을 확인한 명단으로 합니다.
+ *
+ * 모든 호출은 해당 방의 메일박스 스레드에서 이루어지므로 방 단위로는 순차 실행됩니다.
+ * 이 노드가 방 이벤트를 받지 않는 동안에는 캐시가 갱신되지 않으므로 방 채널 구독 해제 시 {@link #forget(String)}으로 버립니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomRosterCache {
+
+    private final RedisRepository redisRepository;
+    private final ReactiveRoomRepository reactiveRoomRepository;
+    private final Map<String, RoomRoster> rosters = new ConcurrentHashMap<>();
+
+    /**
+     * Redis 명단 버전을 확인하여 최신 명단을 반환합니다. (입장/퇴장/방장 변경 이벤트, 방장 권한 확인용)
+     */
+    public RoomRoster current(String roomCode) {
+        RoomRoster cached = rosters.get(roomCode);
+        if (cached != null && cached.version() == redisRepository.getRosterVersion(roomCode)) {
+            return cached;
+        }
+        return reload(roomCode);
+    }
+
+    /**
+     * {@link #current(String)}의 논블로킹 버전입니다. 버전 확인과 명단 재조회를 스레드를 막지 않고 수행합니다.
+     */
+    public Mono<RoomRoster> currentAsync(String roomCode) {
+        return reactiveRoomRepository.getRosterVersion(roomCode)
+                .flatMap(version -> {
+                    RoomRoster cached = rosters.get(roomCode);
+                    if (cached != null && cached.version() == version) {
+                        return Mono.just(cached);
+                    }
+                    return reactiveRoomRepository.loadRoster(roomCode)
+                            .doOnNext(roster -> rosters.put(roomCode, roster));
+                });
+    }
+
+    /**
+     * 캐시된 명단을 Redis 확인 없이 반환합니다. 캐시가 없을 때만 Redis에서 읽습니다.
+     * 다른 노드의 방장 변경이 아직 반영되지 않았을 수 있으므로 권한 확인에는 {@link #current(String)}를 사용합니다.
+     */
+    public RoomRoster cached(String roomCode) {
+        RoomRoster cached = rosters.get(roomCode);
+        return cached != null ? cached : reload(roomCode);
+    }
+
+    /**
+     * user-left 처리 후 퇴장한 참가자를 캐시에서 제거합니다.
+     */
+    public void removeParticipant(String roomCode, UUID clientId) {
+        rosters.computeIfPresent(roomCode, (k, roster) -> {
+            Map<String, String> nicknames = new HashMap<>(roster.nicknames());
+            nicknames.remove(clientId.toString());
+            String hostId = roster.isHost(clientId) ? null : roster.hostId();
+            return new RoomRoster(roster.version(), nicknames, hostId);
+        });
+    }
+
+    /**
+     * host-changed 처리 후 방장을 갱신합니다.
+     */
+    public void changeHost(String roomCode, String hostId) {
+        rosters.computeIfPresent(roomCode, (k, roster) -> new RoomRoster(roster.version(), roster.nicknames(), hostId));
+    }
+
+    /**
+     * 방 삭제 또는 이 노드의 방 구독 해제 시 캐시를 버립니다.
+     */
+    public void forget(String roomCode) {
+        rosters.remove(roomCode);
+    }
+
+    /**
+     * {@link #cached(String)}의 논블로킹 버전입니다. 캐시가 없을 때만 Redis에서 읽습니다.
+     * 입장/퇴장 이벤트가 같은 메일박스에서 먼저 캐시를 갱신하므로, 상태 배치처럼 잦은 이벤트의 참가자 확인에 사용합니다.
+     */
+    public Mono<RoomRoster> cachedAsync(String roomCode) {
+        RoomRoster cached = rosters.get(roomCode);
+        return cached != null ? Mono.just(cached) : currentAsync(roomCode);
+    }
+
+    private RoomRoster reload(String roomCode) {
+        RoomRoster roster = redisRepository.loadRoster(roomCode);
+        rosters.put(roomCode, roster);
+        //log.debug("[RoomRosterCache] 명단 갱신: roomCode={}, version={}", roomCode, roster.version());
+        return roster;
+    }
+}
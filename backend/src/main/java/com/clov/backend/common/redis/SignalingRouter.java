@@ -0,0 +1,122 @@
+package com.clov.backend.common.redis;
+
+import com.clov.backend.domain.room.websocket.SignalingEnvelope;
+import com.clov.backend.domain.room.websocket.WebSocketSessionManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * SDP/ICE 시그널링 메시지를 대상 참가자가 연결된 노드로 전달하는 라우터입니다.
+ * Redis에 clientId → nodeId 디렉터리를 유지하고, 대상이 다른 노드에 있으면 해당 노드 전용 채널(signal:{nodeId})로 원본 페이로드를 발행합니다.
+ * 대상이 같은 노드에 있으면 Redis를 거치지 않고 바로 세션 큐에 넣습니다.
+ */
+@Slf4j
+@Component
+public class SignalingRouter implements MessageListener {
+
+    private static final String DIRECTORY_PREFIX = "signal:client:";
+    private static final String CHANNEL_PREFIX = "signal:";
+
+    /** 내 노드가 등록한 매핑일 때만 삭제 (다른 노드로 재접속한 매핑 보호) */
+    private static final DefaultRedisScript<Long> UNREGISTER_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final WebSocketSessionManager sessionManager;
+    private final ObjectMapper objectMapper;
+    private final Duration directoryTtl;
+
+    @Getter
+    private final String nodeId;
+
+    public SignalingRouter(StringRedisTemplate stringRedisTemplate,
+                           WebSocketSessionManager sessionManager,
+                           ObjectMapper objectMapper,
+                           @Value("${websocket.signaling.node-id:}") String nodeId,
+                           @Value("${websocket.signaling.directory-ttl-seconds:21600}") long directoryTtlSeconds) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.sessionManager = sessionManager;
+        this.objectMapper = objectMapper;
+        // 설정이 없으면 기동마다 새 ID를 사용 (재기동 전 매핑이 남아 있어도 다른 노드로 취급되어 폐기됨)
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.directoryTtl = Duration.ofSeconds(directoryTtlSeconds);
+    }
+
+    /**
+     * 이 노드가 구독하는 시그널링 채널 이름
+     */
+    public String getNodeChannel() {
+        return CHANNEL_PREFIX + nodeId;
+    }
+
+    /**
+     * 참가자가 이 노드에 연결되었음을 디렉터리에 기록합니다.
+     * TTL은 노드가 비정상 종료되어 unregister 되지 못한 매핑을 정리하기 위한 안전장치입니다.
+     */
+    public void register(String clientId) {
+        try {
+            stringRedisTemplate.opsForValue().set(DIRECTORY_PREFIX + clientId, nodeId, directoryTtl);
+        } catch (Exception e) {
+            //log.warn("[SignalingRouter] 디렉터리 등록 실패: clientId={}", clientId, e);
+        }
+    }
+
+    /**
+     * 참가자 연결 종료 시 디렉터리에서 제거합니다.
+     */
+    public void unregister(String clientId) {
+        try {
+            stringRedisTemplate.execute(UNREGISTER_SCRIPT, List.of(DIRECTORY_PREFIX + clientId), nodeId);
+        } catch (Exception e) {
+            //log.warn("[SignalingRouter] 디렉터리 제거 실패: clientId={}", clientId, e);
+        }
+    }
+
+    /**
+     * 시그널링 메시지를 대상 참가자에게 전달합니다.
+     * @param targetClientId 대상 clientId
+     * @param payload 클라이언트가 보낸 원본 JSON 페이로드
+     */
+    public void route(String targetClientId, String payload) {
+        if (sessionManager.hasClient(targetClientId)) {
+            sessionManager.sendToClient(targetClientId, payload);
+            return;
+        }
+
+        String owner = stringRedisTemplate.opsForValue().get(DIRECTORY_PREFIX + targetClientId);
+        if (owner == null || owner.equals(nodeId)) {
+            //log.warn("[SignalingRouter] 대상 세션을 찾을 수 없음: {}", targetClientId);
+            return;
+        }
+        stringRedisTemplate.convertAndSend(CHANNEL_PREFIX + owner, payload);
+    }
+
+    /**
+     * 다른 노드가 이 노드 채널로 보낸 시그널링 메시지를 로컬 세션에 전달합니다.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+            SignalingEnvelope envelope = SignalingEnvelope.peek(objectMapper.getFactory(), payload);
+            if (envelope.target() != null) {
+                sessionManager.sendToClient(envelope.target(), payload);
+            }
+        } catch (Exception e) {
+            //log.error("[SignalingRouter] 시그널링 메시지 처리 실패", e);
+        }
+    }
+}
@@ -1,14 +1,15 @@
 package com.clov.backend.common.redis.config;
 
 import com.clov.backend.common.redis.RedisExpirationListener;
-import com.clov.backend.common.redis.RedisSubscriber;
+import com.clov.backend.common.redis.SignalingRouter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * Redis pub/sub 리스너 설정을 위한 구성 클래스입니다.
@@ -18,36 +19,27 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 public class RedisPubSubConfig {
 
     private final RedisConnectionFactory redisConnectionFactory;
-    private final RedisSubscriber redisSubscriber;
     private final RedisExpirationListener redisExpirationListener;
-
-    /**
-     * Redis 메시지를 비동기로 처리하기 위한 Executor Bean 등록
-     */
-    @Bean
-    public ThreadPoolTaskExecutor redisTaskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setThreadNamePrefix("redis-listener-");
-        executor.initialize();
-        return executor;
-    }
+    private final SignalingRouter signalingRouter;
 
     /**
      * Redis pub/sub 메시지를 수신하기 위한 RedisMessageListenerContainer 등록
+     * 스레드 풀에 메시지를 나눠 주면 같은 방의 update-state 두 개가 서로 다른 스레드에서 순서가 뒤바뀔 수 있으므로,
+     * 리스너는 구독 스레드에서 도착 순서대로 호출합니다. 리스너들은 방 메일박스 선택 / 세션 큐 적재만 하고 바로 반환하며,
+     * 디코딩과 Redis·DB 작업은 방 메일박스(RoomEventMailbox) 스레드에서 방 단위 순서를 지키며 병렬로 처리됩니다.
      *
-     * @param redisTaskExecutor Redis 메시지 리스너용 스레드 풀
      * @return RedisMessageListenerContainer
      */
     @Bean
-    public RedisMessageListenerContainer redisMessageListenerContainer(ThreadPoolTaskExecutor redisTaskExecutor) {
+    public RedisMessageListenerContainer redisMessageListenerContainer() {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(redisConnectionFactory);
-        container.setTaskExecutor(redisTaskExecutor);
-        container.addMessageListener(redisSubscriber, new PatternTopic("room:*")); // room:* 채널 구독
+        container.setTaskExecutor(new SyncTaskExecutor());
+        // room:{roomCode} 채널은 이 노드에 세션이 있는 방만 RoomChannelSubscriptions가 동적으로 구독
         // TTL 만료 이벤트 수신 구독
         container.addMessageListener(redisExpirationListener, new PatternTopic("__keyevent@0__:expired"));
+        // 다른 노드에서 이 노드의 참가자에게 보낸 SDP/ICE 수신
+        container.addMessageListener(signalingRouter, new ChannelTopic(signalingRouter.getNodeChannel()));
         return container;
     }
 }
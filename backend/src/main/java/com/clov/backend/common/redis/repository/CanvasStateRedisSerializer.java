@@ -0,0 +1,171 @@
+package com.clov.backend.common.redis.repository;
+
+import com.clov.backend.domain.canvas.dto.CanvasStateDto;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Redis 해시 값 직렬화기입니다. 참가자 캔버스 상태(CanvasStateDto)는 버전 바이트를 둔 고정 바이너리 레이아웃으로,
+ * 그 외 해시 값(닉네임 등)은 기존과 같이 GenericJackson2JsonRedisSerializer로 저장합니다.
+ *
+ * <pre>
+ * version(1) flags(u16) x(i32) y(i32) scale(f64) opacity(f64) rotation(i16) mode(i32)
+ * filterLen(u16) filter(utf-8) overlayLen(u16) overlay(utf-8)
+ * </pre>
+ * 모든 정수는 big-endian 이며, flags 비트로 각 필드의 null 여부를 표시하여 JSON과 같은 값을 그대로 복원합니다.
+ * 버전 바이트는 최상위 비트를 세운 값(v1 = 0x81)이라 JSON 값의 첫 바이트와 겹치지 않으므로,
+ * 읽을 때는 첫 바이트로 형식을 구분하여 이전에 JSON으로 저장된 상태도 그대로 읽습니다.
+ */
+public class CanvasStateRedisSerializer implements RedisSerializer<Object> {
+
+    /** 바이너리 레이아웃 v1 */
+    public static final byte VERSION_1 = (byte) 0x81;
+
+    private static final int FLAG_X = 1;
+    private static final int FLAG_Y = 1 << 1;
+    private static final int FLAG_SCALE = 1 << 2;
+    private static final int FLAG_OPACITY = 1 << 3;
+    private static final int FLAG_ROTATION = 1 << 4;
+    private static final int FLAG_MODE = 1 << 5;
+    private static final int FLAG_FILTER = 1 << 6;
+    private static final int FLAG_OVERLAY = 1 << 7;
+    private static final int FLAG_MIC_PRESENT = 1 << 8;
+    private static final int FLAG_MIC_ON = 1 << 9;
+
+    /** 문자열을 제외한 고정 길이 */
+    private static final int FIXED_LENGTH = 1 + 2 + 4 + 4 + 8 + 8 + 2 + 4 + 2 + 2;
+    private static final int MAX_STRING_LENGTH = 0xFFFF;
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+    private final boolean compact;
+
+    /**
+     * @param compact true 이면 캔버스 상태를 바이너리로 저장, false 이면 JSON으로 저장 (읽기는 항상 두 형식 모두 지원)
+     */
+    public CanvasStateRedisSerializer(boolean compact) {
+        this.compact = compact;
+    }
+
+    /**
+     * 값이 바이너리 레이아웃으로 저장되어 있는지 여부
+     */
+    public static boolean isCompact(byte[] bytes) {
+        return bytes != null && bytes.length > 0 && bytes[0] == VERSION_1;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (compact && value instanceof CanvasStateDto state) {
+            return encode(state);
+        }
+        return json.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == VERSION_1) {
+            return decode(bytes);
+        }
+        if (bytes[0] < 0) {
+            throw new SerializationException("지원하지 않는 캔버스 상태 형식 버전입니다: " + (bytes[0] & 0xFF));
+        }
+        return json.deserialize(bytes);
+    }
+
+    static byte[] encode(CanvasStateDto state) {
+        byte[] filter = utf8(state.getFilter());
+        byte[] overlay = utf8(state.getOverlay());
+
+        ByteBuffer out = ByteBuffer.allocate(FIXED_LENGTH + filter.length + overlay.length);
+        out.put(VERSION_1);
+        out.putShort((short) flagsOf(state));
+        out.putInt(state.getX() != null ? state.getX() : 0);
+        out.putInt(state.getY() != null ? state.getY() : 0);
+        out.putDouble(state.getScale() != null ? state.getScale() : 0d);
+        out.putDouble(state.getOpacity() != null ? state.getOpacity() : 0d);
+        out.putShort((short) (state.getRotation() != null ? state.getRotation() : 0));
+        out.putInt(state.getMode() != null ? state.getMode() : 0);
+        out.putShort((short) filter.length);
+        out.put(filter);
+        out.putShort((short) overlay.length);
+        out.put(overlay);
+        return out.array();
+    }
+
+    static CanvasStateDto decode(byte[] bytes) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(bytes);
+            in.get(); // version
+            int flags = in.getShort() & 0xFFFF;
+            int x = in.getInt();
+            int y = in.getInt();
+            double scale = in.getDouble();
+            double opacity = in.getDouble();
+            int rotation = in.getShort();
+            int mode = in.getInt();
+            String filter = readString(in);
+            String overlay = readString(in);
+
+            return CanvasStateDto.builder()
+                    .x(has(flags, FLAG_X) ? x : null)
+                    .y(has(flags, FLAG_Y) ? y : null)
+                    .scale(has(flags, FLAG_SCALE) ? scale : null)
+                    .opacity(has(flags, FLAG_OPACITY) ? opacity : null)
+                    .rotation(has(flags, FLAG_ROTATION) ? rotation : null)
+                    .mode(has(flags, FLAG_MODE) ? mode : null)
+                    .filter(has(flags, FLAG_FILTER) ? filter : null)
+                    .overlay(has(flags, FLAG_OVERLAY) ? overlay : null)
+                    .isMicOn(has(flags, FLAG_MIC_PRESENT) ? has(flags, FLAG_MIC_ON) : null)
+                    .build();
+        } catch (BufferUnderflowException e) {
+            throw new SerializationException("캔버스 상태 바이너리 길이가 올바르지 않습니다.", e);
+        }
+    }
+
+    private static int flagsOf(CanvasStateDto state) {
+        int flags = 0;
+        if (state.getX() != null) flags |= FLAG_X;
+        if (state.getY() != null) flags |= FLAG_Y;
+        if (state.getScale() != null) flags |= FLAG_SCALE;
+        if (state.getOpacity() != null) flags |= FLAG_OPACITY;
+        if (state.getRotation() != null) flags |= FLAG_ROTATION;
+        if (state.getMode() != null) flags |= FLAG_MODE;
+        if (state.getFilter() != null) flags |= FLAG_FILTER;
+        if (state.getOverlay() != null) flags |= FLAG_OVERLAY;
+        if (state.getIsMicOn() != null) {
+            flags |= FLAG_MIC_PRESENT;
+            if (state.getIsMicOn()) flags |= FLAG_MIC_ON;
+        }
+        return flags;
+    }
+
+    private static boolean has(int flags, int flag) {
+        return (flags & flag) != 0;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_LENGTH) {
+            throw new SerializationException("filter/overlay 값은 65535바이트를 넘을 수 없습니다.");
+        }
+        return bytes;
+    }
+}
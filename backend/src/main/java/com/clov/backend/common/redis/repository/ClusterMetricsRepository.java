@@ -0,0 +1,129 @@
+package com.clov.backend.common.redis.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * 클러스터 전체 방 / 참가자 메트릭 카운터 저장소입니다.
+ * 노드마다 따로 세던 카운터 대신 Redis 해시 하나(metrics:cluster)에 모든 노드가 원자적으로 증감하므로,
+ * 어느 노드에서 읽어도 같은 값이고 노드가 재기동되어도 값이 유지됩니다.
+ *
+ * 필드: rooms, clients, online, participants:1 ~ participants:6, participants:6+
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClusterMetricsRepository {
+
+    private static final String KEY = "metrics:cluster";
+
+    // 최초 시드 여부 표시 필드
+    private static final String SEEDED_FIELD = "seeded";
+
+    public static final String ROOMS = "rooms";
+    public static final String CLIENTS = "clients";
+    public static final String ONLINE = "online";
+
+    /**
+     * 필드별 증감을 한 번에 적용하고 증감 후 값을 순서대로 반환하는 스크립트 (0 미만으로 내려가면 0으로 보정)
+     * ARGV: field1, delta1, field2, delta2, ...
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local result = {} " +
+                    "for i = 1, #ARGV, 2 do " +
+                    "local v = redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1]) " +
+                    "if v < 0 then redis.call('HSET', KEYS[1], ARGV[i], 0) v = 0 end " +
+                    "result[#result + 1] = v " +
+                    "end " +
+                    "return result",
+            List.class);
+
+    /**
+     * 아직 시드되지 않은 경우에만 필드 값을 설정하는 스크립트 (설정했으면 1, 이미 시드되어 있으면 0)
+     * ARGV: seededField, field1, value1, field2, value2, ...
+     */
+    private static final DefaultRedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[1], ARGV[1]) == 1 then return 0 end " +
+                    "for i = 2, #ARGV, 2 do redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1]) end " +
+                    "redis.call('HSET', KEYS[1], ARGV[1], 1) " +
+                    "return 1",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 참가자 수별 방 개수 필드 이름 (1~6명, 그 이상은 6+)
+     */
+    public static String participantsField(int participantCount) {
+        return participantCount <= 6 ? "participants:" + participantCount : "participants:6+";
+    }
+
+    /**
+     * 필드별 증감을 원자적으로 적용합니다.
+     * @param deltas 필드 → 증감값 (순서 유지)
+     * @return 필드 → 증감 후 값
+     */
+    public Map<String, Long> increment(LinkedHashMap<String, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return Map.of();
+        }
+        List<String> args = new ArrayList<>(deltas.size() * 2);
+        deltas.forEach((field, delta) -> {
+            args.add(field);
+            args.add(String.valueOf(delta));
+        });
+
+        List<?> reply = stringRedisTemplate.execute(INCREMENT_SCRIPT, List.of(KEY), args.toArray());
+        Map<String, Long> result = new HashMap<>();
+        if (reply == null) {
+            return result;
+        }
+        Iterator<String> fields = deltas.keySet().iterator();
+        for (Object value : reply) {
+            result.put(fields.next(), ((Number) value).longValue());
+        }
+        return result;
+    }
+
+    /**
+     * 현재 클러스터 카운터 값을 모두 조회합니다.
+     * @return 필드 → 값 (없는 필드는 포함되지 않음)
+     */
+    public Map<String, Long> counts() {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(KEY);
+        Map<String, Long> counts = new HashMap<>();
+        entries.forEach((field, value) -> {
+            if (!SEEDED_FIELD.equals(field)) {
+                counts.put(field.toString(), Long.parseLong(value.toString()));
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * 카운터가 이미 시드되어 있는지 여부
+     */
+    public boolean isSeeded() {
+        return stringRedisTemplate.opsForHash().hasKey(KEY, SEEDED_FIELD);
+    }
+
+    /**
+     * 카운터가 한 번도 시드되지 않았을 때만(최초 배포, Redis 초기화 후) 주어진 값으로 설정합니다.
+     * 이미 시드된 카운터는 다른 노드가 계속 증감하고 있으므로 재기동 시 덮어쓰지 않습니다.
+     * @param values 필드 → 값
+     * @return 이번 호출로 시드했으면 true
+     */
+    public boolean seedIfAbsent(Map<String, Long> values) {
+        List<String> args = new ArrayList<>(values.size() * 2 + 1);
+        args.add(SEEDED_FIELD);
+        values.forEach((field, value) -> {
+            args.add(field);
+            args.add(String.valueOf(value));
+        });
+        return Long.valueOf(1L).equals(stringRedisTemplate.execute(SEED_SCRIPT, List.of(KEY), args.toArray()));
+    }
+}
@@ -0,0 +1,98 @@
+package com.clov.backend.common.redis.repository;
+
+import com.clov.backend.domain.canvas.dto.CanvasStateDto;
+import com.clov.backend.domain.canvas.dto.response.FullCanvasStateResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 실시간 경로용 논블로킹 Redis 저장소입니다.
+ * 상태 저장, 명단 조회, 스냅샷 조회, 방 채널 발행을 {@link Mono}로 제공하여
+ * 응답을 기다리는 동안 WebSocket / 방 메일박스 스레드를 붙잡지 않습니다.
+ * 키와 직렬화 방식은 {@link RedisRepository}와 같으며, REST 경로는 기존 블로킹 저장소를 그대로 사용합니다.
+ *
+ * 같은 연결로 보낸 명령은 보낸 순서대로 처리되므로, 한 참가자의 상태 저장을 기다리지 않고 이어서 보내도 순서가 바뀌지 않습니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveRoomRepository {
+
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+
+    /**
+     * 특정 클라이언트의 캔버스 상태 저장
+     */
+    public Mono<Boolean> saveCanvasState(String roomCode, UUID clientId, CanvasStateDto canvasStateDto) {
+        return reactiveRedisTemplate.opsForHash()
+                .put(RedisRepository.getStateKey(roomCode), clientId.toString(), canvasStateDto);
+    }
+
+    /**
+     * 여러 참가자의 캔버스 상태를 HSET 한 번으로 저장
+     */
+    public Mono<Boolean> saveCanvasStates(String roomCode, Map<String, CanvasStateDto> states) {
+        return reactiveRedisTemplate.<String, CanvasStateDto>opsForHash()
+                .putAll(RedisRepository.getStateKey(roomCode), states);
+    }
+
+    /**
+     * 참가자 명단 버전 조회 (없으면 0)
+     */
+    public Mono<Long> getRosterVersion(String roomCode) {
+        return reactiveRedisTemplate.opsForValue().get(RedisRepository.getRosterVersionKey(roomCode))
+                .map(version -> version instanceof Number n ? n.longValue() : 0L)
+                .defaultIfEmpty(0L);
+    }
+
+    /**
+     * 참가자 명단(버전 + 닉네임 + 방장)을 동시에 조회
+     */
+    public Mono<RoomRoster> loadRoster(String roomCode) {
+        return Mono.zip(getRosterVersion(roomCode), nicknames(roomCode), value(RedisRepository.getHostKey(roomCode)))
+                .map(t -> new RoomRoster(t.getT1(), t.getT2(), t.getT3().map(Object::toString).orElse(null)));
+    }
+
+    /**
+     * 전체 캔버스 상태(참가자 상태 + 배경 + 닉네임) 조회. 방장이 없으면 모든 참가자를 방장 아님으로 표시합니다.
+     */
+    public Mono<FullCanvasStateResponse> getCanvasState(String roomCode) {
+        Mono<Map<String, CanvasStateDto>> states = reactiveRedisTemplate.<String, CanvasStateDto>opsForHash()
+                .entries(RedisRepository.getStateKey(roomCode))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+
+        return Mono.zip(states, nicknames(roomCode),
+                        value(RedisRepository.getHostKey(roomCode)), value(RedisRepository.getBackgroundKey(roomCode)))
+                .map(t -> RedisRepository.toFullCanvasState(roomCode, t.getT1(), t.getT2(),
+                        t.getT3().map(host -> UUID.fromString(host.toString())).orElse(null),
+                        t.getT4().map(CanvasStateDto.BackgroundDto.class::cast).orElse(null)));
+    }
+
+    /**
+     * 이미 인코딩된 메시지를 방 채널에 발행
+     * @return 메시지를 받은 구독자 수
+     */
+    public Mono<Long> publish(byte[] channel, byte[] payload) {
+        return reactiveRedisTemplate.execute(connection ->
+                        connection.pubSubCommands().publish(ByteBuffer.wrap(channel), ByteBuffer.wrap(payload)))
+                .next();
+    }
+
+    private Mono<Map<String, String>> nicknames(String roomCode) {
+        return reactiveRedisTemplate.<String, String>opsForHash()
+                .entries(RedisRepository.getNicknameKey(roomCode))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private Mono<Optional<Object>> value(String key) {
+        return reactiveRedisTemplate.opsForValue().get(key)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+}
@@ -4,11 +4,16 @@ package com.clov.backend.common.redis.repository;
 import com.clov.backend.domain.canvas.dto.CanvasStateDto;
 import com.clov.backend.domain.canvas.dto.response.FullCanvasStateResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.ReturnType;
 import org.springframework.data.redis.core.*;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Repository;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 
@@ -23,11 +28,65 @@ public class RedisRepository {
     // Redis에 저장되는 Key의 prefix
     private static final String PREFIX = "canvas:";
 
+    // 활성 방 색인 (roomCode → 생성 또는 마지막 입장 시각 epoch ms)
+    private static final String ACTIVE_ROOMS_KEY = "rooms:active";
+
+    // 마지막 입장 후 이 시간이 지난 방은 TTL(생성 후 1시간, 입장으로 연장되지 않음)이 이미 지났으므로 색인에서 정리 (만료 이벤트 유실 대비)
+    // 상태 이동은 TTL을 늘리지 않으므로 이동마다 색인을 갱신할 필요가 없음
+    private static final Duration ACTIVE_ROOM_MAX_IDLE = Duration.ofHours(2);
+
+    // 일회성 데이터 변환 작업 완료 표시 키 prefix (migrations:{작업 이름})
+    private static final String MIGRATION_PREFIX = "migrations:";
+
+    /**
+     * 방 스냅샷(상태 / 닉네임 / 방장 / 배경)을 한 번의 왕복으로 읽는 스크립트
+     * KEYS: state, nickname, host, background → {상태 HGETALL, 닉네임 HGETALL, 방장, 배경} (없는 값은 nil)
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> SNAPSHOT_SCRIPT = new DefaultRedisScript<>(
+            "return {redis.call('HGETALL', KEYS[1]), redis.call('HGETALL', KEYS[2]), " +
+                    "redis.call('GET', KEYS[3]), redis.call('GET', KEYS[4])}",
+            List.class);
+
+    /** 필드 값이 읽은 값 그대로일 때만 교체 (형식 변환 중 새로 저장된 상태를 덮어쓰지 않음) */
+    private static final byte[] REPLACE_IF_UNCHANGED_SCRIPT = (
+            "if redis.call('HGET', KEYS[1], ARGV[1]) == ARGV[2] then " +
+                    "return redis.call('HSET', KEYS[1], ARGV[1], ARGV[3]) + 1 else return 0 end")
+            .getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 활성 방 색인에서 방을 제거한 호출에만 폐쇄 시점의 참가자 수를 돌려주는 스크립트 (이미 제거된 방이면 -1)
+     * KEYS: 활성 방 색인, state / ARGV: roomCode
+     */
+    private static final DefaultRedisScript<Long> CLAIM_CLOSE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('ZREM', KEYS[1], ARGV[1]) == 0 then return -1 end " +
+                    "return redis.call('HLEN', KEYS[2])",
+            Long.class);
+
+    /**
+     * 닉네임 필드를 실제로 지운 호출에만 1을 돌려주는 참가자 퇴장 스크립트 (상태 필드도 함께 지우고 명단 버전 증가)
+     * KEYS: nickname, state, roster-version / ARGV: clientId
+     */
+    private static final DefaultRedisScript<Long> CLAIM_LEAVE_SCRIPT = new DefaultRedisScript<>(
+            "local removed = redis.call('HDEL', KEYS[1], ARGV[1]) " +
+                    "redis.call('HDEL', KEYS[2], ARGV[1]) " +
+                    "if removed == 1 then redis.call('INCR', KEYS[3]) end " +
+                    "return removed",
+            Long.class);
+
+    /** 정수 응답은 역직렬화 없이 Long으로 돌아오므로, 인자만 문자열로 직렬화할 때 결과 직렬화기 자리에 사용 */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisSerializer<Long> INTEGER_REPLY = (RedisSerializer) RedisSerializer.byteArray();
+
+    /** 스크립트 응답을 역직렬화하지 않고 바이트 그대로 받기 위한 직렬화기 */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisSerializer<List> RAW_REPLY = (RedisSerializer) RedisSerializer.byteArray();
+
     /**
      * client 상태 저장 키 생성
      * 예) canvas:ABCD12:state
      */
-    private String getStateKey(String roomCode) {
+    static String getStateKey(String roomCode) {
         return PREFIX + roomCode + ":state";
     }
 
@@ -35,7 +94,7 @@ public class RedisRepository {
      * 배경 정보 저장 키 생성
      * 예) canvas:ABCD12:background
      */
-    private String getBackgroundKey(String roomCode) {
+    static String getBackgroundKey(String roomCode) {
         return PREFIX + roomCode + ":background";
     }
 
@@ -43,7 +102,7 @@ public class RedisRepository {
      * 호스트 clientId 저장 키 생성
      * 예) canvas:ABCD12:host
      */
-    private String getHostKey(String roomCode) {
+    static String getHostKey(String roomCode) {
         return roomCode + ":host";
     }
 
@@ -51,10 +110,18 @@ public class RedisRepository {
      * 닉네임 저장 키 생성
      * 예) ABCD12:nickname
      */
-    private String getNicknameKey(String roomCode) {
+    static String getNicknameKey(String roomCode) {
         return roomCode + ":nickname";
     }
 
+    /**
+     * 참가자 명단 버전 키 생성 (참가자/방장 변경 시 INCR)
+     * 예) ABCD12:roster-version
+     */
+    static String getRosterVersionKey(String roomCode) {
+        return roomCode + ":roster-version";
+    }
+
     /**
      * TTL 유지용 roomKey
      */
@@ -73,6 +140,69 @@ public class RedisRepository {
         hashOps.put(getStateKey(roomCode), clientId.toString(), canvasStateDto);
     }
 
+    /**
+     * 여러 클라이언트의 캔버스 상태를 한 번의 HSET으로 저장합니다.
+     * @param roomCode 방 코드
+     * @param states clientId → 저장할 상태 정보
+     */
+    public void saveCanvasStates(String roomCode, Map<String, CanvasStateDto> states) {
+        HashOperations<String, String, CanvasStateDto> hashOps = redisTemplate.opsForHash();
+        hashOps.putAll(getStateKey(roomCode), states);
+    }
+
+    /**
+     * 방의 캔버스 상태 중 이전 JSON 형식으로 저장된 값을 현재 해시 값 직렬화기 형식(바이너리)으로 다시 저장합니다.
+     * 읽은 뒤 새 상태가 저장된 필드는 건너뜁니다.
+     * @param roomCode 방 코드
+     * @return 형식을 바꾼 참가자 수
+     */
+    @SuppressWarnings("unchecked")
+    public int migrateCanvasStates(String roomCode) {
+        RedisSerializer<Object> hashValues = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+        byte[] key = getStateKey(roomCode).getBytes(StandardCharsets.UTF_8);
+
+        Integer migrated = redisTemplate.execute((RedisCallback<Integer>) connection -> {
+            Map<byte[], byte[]> entries = connection.hashCommands().hGetAll(key);
+            if (entries == null) {
+                return 0;
+            }
+            int count = 0;
+            for (Map.Entry<byte[], byte[]> entry : entries.entrySet()) {
+                byte[] stored = entry.getValue();
+                if (CanvasStateRedisSerializer.isCompact(stored)) {
+                    continue;
+                }
+                byte[] reencoded = hashValues.serialize(hashValues.deserialize(stored));
+                if (Arrays.equals(stored, reencoded)) {
+                    continue;
+                }
+                Long replaced = connection.scriptingCommands().eval(REPLACE_IF_UNCHANGED_SCRIPT, ReturnType.INTEGER,
+                        1, key, entry.getKey(), stored, reencoded);
+                if (replaced != null && replaced > 0) {
+                    count++;
+                }
+            }
+            return count;
+        });
+        return migrated != null ? migrated : 0;
+    }
+
+    /**
+     * 일회성 데이터 변환 작업이 완료되었는지 여부
+     * @param migration 작업 이름 (버전 포함)
+     */
+    public boolean isMigrationDone(String migration) {
+        return redisTemplate.hasKey(MIGRATION_PREFIX + migration);
+    }
+
+    /**
+     * 일회성 데이터 변환 작업의 완료를 기록합니다. 이후 기동하는 노드는 이 작업을 건너뜁니다.
+     * @param migration 작업 이름 (버전 포함)
+     */
+    public void markMigrationDone(String migration) {
+        redisTemplate.opsForValue().set(MIGRATION_PREFIX + migration, System.currentTimeMillis());
+    }
+
     /**
      * 특정 클라이언트의 닉네임을 저장합니다.
      * @param roomCode 방 코드
@@ -110,18 +240,57 @@ public class RedisRepository {
 
     /**
      * 전체 캔버스 상태(참가자 상태 + 배경 + 닉네임)를 조합하여 응답용 DTO로 반환합니다.
+     * join-room 과 상태 동기화 스케줄러가 방마다 호출하므로 네 개의 키를 스크립트 하나로 한 번에 읽습니다.
      * @param roomCode 방 코드
      * @return 전체 캔버스 상태 응답 DTO
      */
+    @SuppressWarnings("unchecked")
     public FullCanvasStateResponse getCanvasState(String roomCode) {
-        HashOperations<String, String, CanvasStateDto> stateOps = redisTemplate.opsForHash();
-        HashOperations<String, String, String> nicknameOps = redisTemplate.opsForHash();
+        // 응답은 바이트 그대로 받아 키는 문자열, 값은 템플릿의 (해시) 값 직렬화기로 변환
+        List<Object> reply = redisTemplate.execute(SNAPSHOT_SCRIPT, RedisSerializer.string(), RAW_REPLY, snapshotKeys(roomCode));
+        RedisSerializer<Object> hashValues = (RedisSerializer<Object>) redisTemplate.getHashValueSerializer();
+        RedisSerializer<Object> values = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+
+        Map<String, CanvasStateDto> canvasMap = new LinkedHashMap<>();
+        decodeHash(reply.get(0), hashValues).forEach((id, state) -> canvasMap.put(id, (CanvasStateDto) state));
+        Map<String, String> nicknameMap = new HashMap<>();
+        decodeHash(reply.get(1), hashValues).forEach((id, nickname) -> nicknameMap.put(id, String.valueOf(nickname)));
+
+        Object host = values.deserialize((byte[]) reply.get(2));
+        UUID hostId = host != null ? UUID.fromString(host.toString()) : null;
+        CanvasStateDto.BackgroundDto bgDto = (CanvasStateDto.BackgroundDto) values.deserialize((byte[]) reply.get(3));
+
+        return toFullCanvasState(roomCode, canvasMap, nicknameMap, hostId, bgDto);
+    }
 
-        Map<String, CanvasStateDto> canvasMap = stateOps.entries(getStateKey(roomCode));
-        Map<String, String> nicknameMap = nicknameOps.entries(getNicknameKey(roomCode));
+    /**
+     * 스냅샷 스크립트가 읽는 키 목록 (state, nickname, host, background 순)
+     */
+    static List<String> snapshotKeys(String roomCode) {
+        return List.of(getStateKey(roomCode), getNicknameKey(roomCode), getHostKey(roomCode), getBackgroundKey(roomCode));
+    }
 
-        String hostIdStr = redisTemplate.opsForValue().get(getHostKey(roomCode)).toString();
-        UUID hostId = UUID.fromString(hostIdStr);
+    /**
+     * HGETALL 응답(필드, 값 교대 배열)을 Map으로 변환합니다.
+     */
+    private static Map<String, Object> decodeHash(Object flat, RedisSerializer<Object> values) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (flat instanceof List<?> list) {
+            for (int i = 0; i + 1 < list.size(); i += 2) {
+                map.put(new String((byte[]) list.get(i), StandardCharsets.UTF_8), values.deserialize((byte[]) list.get(i + 1)));
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 조회한 상태 / 닉네임 / 방장 / 배경으로 전체 캔버스 상태 응답을 구성합니다. (동기 / 리액티브 조회 공용)
+     */
+    static FullCanvasStateResponse toFullCanvasState(String roomCode,
+                                                     Map<String, CanvasStateDto> canvasMap,
+                                                     Map<String, String> nicknameMap,
+                                                     UUID hostId,
+                                                     CanvasStateDto.BackgroundDto bgDto) {
         List<FullCanvasStateResponse.ParticipantCanvasDTO> participants = canvasMap.entrySet().stream()
                 .map(entry -> {
                     UUID id = UUID.fromString(entry.getKey());
@@ -143,10 +312,6 @@ public class RedisRepository {
                 })
                 .toList();
 
-        // 배경 정보 조회
-        ValueOperations<String, CanvasStateDto.BackgroundDto> bgOps = backgroundRedisTemplate.opsForValue();
-        CanvasStateDto.BackgroundDto bgDto = bgOps.get(getBackgroundKey(roomCode));
-
         FullCanvasStateResponse.BackgroundInfoDTO background = null;
         if (bgDto != null) {
             background = FullCanvasStateResponse.BackgroundInfoDTO.builder()
@@ -174,13 +339,19 @@ public class RedisRepository {
     }
 
     /**
-     * 특정 방에서 특정 클라이언트의 상태 삭제
+     * 특정 방에서 특정 클라이언트의 상태와 닉네임을 삭제합니다.
+     * 같은 참가자의 퇴장은 leave-room, REST 퇴장, 연결 종료로 여러 번 처리될 수 있으므로,
+     * 닉네임을 실제로 지운 한 호출만 퇴장 메트릭을 반영하도록 HDEL 결과로 판정합니다.
+     *
      * @param roomCode 방 코드
      * @param clientId 클라이언트 ID
+     * @return 이번 호출이 참가자를 제거했으면 true, 이미 제거된 참가자면 false
      */
-    public void deleteCanvasState(String roomCode, UUID clientId) {
-        redisTemplate.opsForHash().delete(getStateKey(roomCode), clientId.toString());
-        redisTemplate.opsForHash().delete(getNicknameKey(roomCode), clientId.toString());
+    public boolean claimParticipantLeave(String roomCode, UUID clientId) {
+        Long removed = redisTemplate.execute(CLAIM_LEAVE_SCRIPT, RedisSerializer.string(), INTEGER_REPLY,
+                List.of(getNicknameKey(roomCode), getStateKey(roomCode), getRosterVersionKey(roomCode)),
+                clientId.toString());
+        return removed != null && removed == 1L;
     }
 
     /**
@@ -201,6 +372,15 @@ public class RedisRepository {
         backgroundRedisTemplate.opsForValue().set(getBackgroundKey(roomCode), backgroundDto);
     }
 
+    /**
+     * 방 배경 정보 조회
+     * @param roomCode 방 코드
+     * @return Optional<BackgroundDto>
+     */
+    public Optional<CanvasStateDto.BackgroundDto> findBackground(String roomCode) {
+        return Optional.ofNullable(backgroundRedisTemplate.opsForValue().get(getBackgroundKey(roomCode)));
+    }
+
     /**
      * 방 배경 정보 삭제
      * @param roomCode 방 코드
@@ -216,6 +396,7 @@ public class RedisRepository {
      */
     public void saveHost(String roomCode, UUID clientId) {
         redisTemplate.opsForValue().set(getHostKey(roomCode), clientId);
+        bumpRosterVersion(roomCode);
     }
 
     /**
@@ -235,6 +416,51 @@ public class RedisRepository {
         redisTemplate.delete(getHostKey(roomCode));
     }
 
+    /**
+     * 참가자 명단 버전 증가 (노드별 명단 캐시가 변경을 감지하는 기준)
+     * @param roomCode 방 코드
+     */
+    public void bumpRosterVersion(String roomCode) {
+        redisTemplate.opsForValue().increment(getRosterVersionKey(roomCode));
+    }
+
+    /**
+     * 참가자 명단 버전 조회
+     * @param roomCode 방 코드
+     * @return 버전 (명단이 없으면 0)
+     */
+    public long getRosterVersion(String roomCode) {
+        Object version = redisTemplate.opsForValue().get(getRosterVersionKey(roomCode));
+        return version instanceof Number n ? n.longValue() : 0L;
+    }
+
+    /**
+     * 참가자 명단(버전 + 닉네임 + 방장)을 한 번의 파이프라인으로 조회합니다.
+     * @param roomCode 방 코드
+     * @return 명단
+     */
+    @SuppressWarnings("unchecked")
+    public RoomRoster loadRoster(String roomCode) {
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.opsForValue().get(getRosterVersionKey(roomCode));
+                ops.opsForHash().entries(getNicknameKey(roomCode));
+                ops.opsForValue().get(getHostKey(roomCode));
+                return null;
+            }
+        });
+
+        long version = results.get(0) instanceof Number n ? n.longValue() : 0L;
+        Map<String, String> nicknames = new HashMap<>();
+        if (results.get(1) instanceof Map<?, ?> entries) {
+            entries.forEach((id, nickname) -> nicknames.put(String.valueOf(id), String.valueOf(nickname)));
+        }
+        String hostId = results.get(2) != null ? results.get(2).toString() : null;
+        return new RoomRoster(version, nicknames, hostId);
+    }
+
     /**
      * 방 TTL 유지용 키 설정 (ex. 30분)
      * @param roomCode 방 코드
@@ -288,6 +514,20 @@ public class RedisRepository {
         deleteBackground(roomCode);
         deleteHost(roomCode);
         deleteRoomTTL(roomCode);
+        redisTemplate.delete(getRosterVersionKey(roomCode));
+        redisTemplate.opsForZSet().remove(ACTIVE_ROOMS_KEY, roomCode);
+    }
+
+    /**
+     * 방 폐쇄 처리를 맡습니다. TTL 만료 이벤트는 모든 노드가 받고 방장 퇴장과 만료가 겹칠 수도 있으므로,
+     * 활성 방 색인에서 방을 실제로 제거한 한 호출만 폐쇄 메트릭을 반영하도록 ZREM 결과로 판정합니다.
+     *
+     * @param roomCode 방 코드
+     * @return 이번 호출이 폐쇄를 맡았으면 폐쇄 시점의 참가자 수, 다른 곳에서 이미 폐쇄했으면 -1
+     */
+    public int claimRoomClose(String roomCode) {
+        Long count = redisTemplate.execute(CLAIM_CLOSE_SCRIPT, List.of(ACTIVE_ROOMS_KEY, getStateKey(roomCode)), roomCode);
+        return count != null ? count.intValue() : -1;
     }
 
     /**
@@ -300,12 +540,83 @@ public class RedisRepository {
     }
 
     /**
-     * Redis에 존재하는 모든 방 코드(roomCode)를 조회합니다.
+     * 활성 방 색인에서 모든 방 코드(roomCode)를 조회합니다.
+     * 방 생성/입장 시 갱신되고 방 삭제(종료, TTL 만료) 시 제거되므로 키스페이스 전체를 훑지 않고 활성 방 수에 비례한 비용으로 조회합니다.
+     *
+     * @return 현재 활성 상태인 모든 roomCode 목록
+     */
+    public Set<String> getAllRoomCodes() {
+        ZSetOperations<String, Object> zSetOps = redisTemplate.opsForZSet();
+        // 만료 이벤트를 놓쳐 남은 방 정리
+        zSetOps.removeRangeByScore(ACTIVE_ROOMS_KEY, 0, System.currentTimeMillis() - ACTIVE_ROOM_MAX_IDLE.toMillis());
+
+        Set<Object> members = zSetOps.range(ACTIVE_ROOMS_KEY, 0, -1);
+        if (members == null) {
+            return new HashSet<>();
+        }
+        return members.stream().map(Object::toString).collect(Collectors.toSet());
+    }
+
+    /**
+     * 활성 방 색인을 ZSCAN 커서로 순회하며 batchSize 개씩 나누어 전달합니다. (KEYS / 키스페이스 SCAN 없이 활성 방만 읽음)
+     * @param batchSize 한 번에 전달할 방 수
+     * @param consumer 방 코드 묶음 처리
+     */
+    public void forEachActiveRoomBatch(int batchSize, Consumer<List<String>> consumer) {
+        ScanOptions options = ScanOptions.scanOptions().count(batchSize).build();
+        List<String> batch = new ArrayList<>(batchSize);
+
+        try (Cursor<ZSetOperations.TypedTuple<Object>> cursor = redisTemplate.opsForZSet().scan(ACTIVE_ROOMS_KEY, options)) {
+            while (cursor.hasNext()) {
+                batch.add(String.valueOf(cursor.next().getValue()));
+                if (batch.size() >= batchSize) {
+                    consumer.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            consumer.accept(batch);
+        }
+    }
+
+    /**
+     * 방마다 TTL 키가 살아 있는지와 참가자 수(상태 해시 크기)를 파이프라인 한 번으로 조회합니다.
+     * @param roomCodes 방 코드 목록
+     * @return TTL이 남아 있는 방의 roomCode → 참가자 수
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Integer> countLiveParticipants(List<String> roomCodes) {
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                for (String roomCode : roomCodes) {
+                    ops.getExpire(getRoomTTLKey(roomCode));
+                    ops.opsForHash().size(getStateKey(roomCode));
+                }
+                return null;
+            }
+        });
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = 0; i < roomCodes.size(); i++) {
+            Object ttl = results.get(i * 2);
+            Object size = results.get(i * 2 + 1);
+            if (ttl instanceof Number t && t.longValue() > 0) {
+                counts.put(roomCodes.get(i), size instanceof Number n ? n.intValue() : 0);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 캔버스 상태 키를 SCAN 하여 방 코드를 찾습니다. 키스페이스 전체를 훑으므로 기동 시 일회성 작업에만 사용합니다.
      * canvas:{roomCode}:state 형식의 키에서 roomCode만 추출하여 반환합니다.
      *
      * @return 현재 상태가 저장된 모든 roomCode 목록
      */
-    public Set<String> getAllRoomCodes() {
+    public Set<String> scanRoomCodes() {
         Set<String> roomCodes = new HashSet<>();
 
         // Non-blocking 방식으로 개선
@@ -325,6 +636,21 @@ public class RedisRepository {
         return roomCodes;
     }
 
+    /**
+     * 색인 도입 전에 만들어진 방을 활성 방 색인에 추가합니다. (이미 있는 방의 입장 시각은 유지)
+     * @return 새로 추가한 방 수
+     */
+    public int backfillActiveRooms() {
+        int added = 0;
+        long now = System.currentTimeMillis();
+        for (String roomCode : scanRoomCodes()) {
+            if (Boolean.TRUE.equals(redisTemplate.opsForZSet().addIfAbsent(ACTIVE_ROOMS_KEY, roomCode, now))) {
+                added++;
+            }
+        }
+        return added;
+    }
+
     /**
      * 특정 방의 현재 참가자 수를 반환합니다.
      * (캔버스 상태가 저장된 사용자 기준)
@@ -363,6 +689,12 @@ public class RedisRepository {
             // 4. TTL 설정
             redisTemplate.opsForValue().set(roomCode, "active", Duration.ofSeconds(expireSeconds));
 
+            // 5. 참가자 명단 버전 증가
+            redisTemplate.opsForValue().increment(getRosterVersionKey(roomCode));
+
+            // 6. 활성 방 색인 등록
+            redisTemplate.opsForZSet().add(ACTIVE_ROOMS_KEY, roomCode, System.currentTimeMillis());
+
             return null;
         });
 
@@ -386,6 +718,12 @@ public class RedisRepository {
             // 2. 캔버스 상태 저장
             redisTemplate.opsForHash().put(getStateKey(roomCode), clientId.toString(), canvasStateDto);
 
+            // 3. 참가자 명단 버전 증가
+            redisTemplate.opsForValue().increment(getRosterVersionKey(roomCode));
+
+            // 4. 활성 방 색인의 마지막 입장 시각 갱신
+            redisTemplate.opsForZSet().add(ACTIVE_ROOMS_KEY, roomCode, System.currentTimeMillis());
+
             return null;
         });
     }
@@ -0,0 +1,26 @@
+package com.clov.backend.common.redis.repository;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 방 참가자 명단(clientId → 닉네임)과 방장 정보입니다.
+ *
+ * @param version  Redis 명단 버전 (참가자/방장 변경 시마다 증가)
+ * @param nicknames clientId → nickname (변경 불가)
+ * @param hostId   방장 clientId (없으면 null)
+ */
+public record RoomRoster(long version, Map<String, String> nicknames, String hostId) {
+
+    public RoomRoster {
+        nicknames = Map.copyOf(nicknames);
+    }
+
+    public String nickname(UUID clientId) {
+        return nicknames.get(clientId.toString());
+    }
+
+    public boolean isHost(UUID clientId) {
+        return clientId != null && clientId.toString().equals(hostId);
+    }
+}
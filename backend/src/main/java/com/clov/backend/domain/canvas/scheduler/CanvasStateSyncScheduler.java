@@ -5,6 +5,11 @@ import com.clov.backend.domain.canvas.dto.response.FullCanvasStateResponse;
 import com.clov.backend.domain.room.websocket.WebSocketMessageSender;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -20,6 +25,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * - 구독자가 있는 방만 전송합니다.
  * - 직전 전송 상태와 비교하여 변경이 있을 때만 전송합니다.
  * - fixedDelay로 중첩 실행을 방지하고, 예외를 격리합니다.
+ * - 방 목록은 키스페이스 SCAN 대신 Redis 활성 방 색인에서 읽습니다.
  *
  */
 @Slf4j
@@ -33,6 +39,27 @@ public class CanvasStateSyncScheduler {
     /** 방별 마지막 전송 상태 해시(동일 상태 재전송 방지) */
     private final Map<String, String> lastStateHash = new ConcurrentHashMap<>();
 
+    @Value("${room.active-index.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    /**
+     * 활성 방 색인 도입 전에 만들어진 방을 기동 시 한 번 색인에 추가합니다.
+     * 색인을 읽는 메트릭 복원보다 먼저 실행되도록 가장 앞 순서로 둡니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillActiveRooms() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            int added = redisRepository.backfillActiveRooms();
+            //log.info("[CanvasStateSyncScheduler] 활성 방 색인에 추가한 기존 방 수: {}", added);
+        } catch (Exception e) {
+            log.warn("[CanvasStateSyncScheduler] 활성 방 색인 보충 실패: {}", e.getMessage());
+        }
+    }
+
     /**
      * 이전 실행 종료 기준으로 5초 지연 실행합니다(중첩 실행 방지).
      * 초기 10초 지연으로 기동 직후 부하를 완화합니다.
@@ -249,12 +249,8 @@ public class RoomService {
         int participantCountBefore = redisRepository.getParticipantCount(roomCode);
 
         if (participant.getIsHost()) {
-            // 🔹 [수정] Redis에 있던 모든 참가자들의 퇴장 처리를 먼저
-            List<String> participants = redisRepository.getParticipants(roomCode);
-            for (String participantId : participants) {
-                realTimeMetrics.onUserLeftRoom(roomCode, participantId);
-                realTimeMetrics.onUserOffline(participantId); // 🔹 [추가] 오프라인 처리
-            }
+            // 방 폐쇄를 맡았는지 확인 (TTL 만료와 겹쳐 이미 폐쇄된 방이면 -1, 메트릭 중복 반영 방지)
+            int closedCount = redisRepository.claimRoomClose(roomCode);
 
             //호스트가 나가는 경우 방 관련 Redis 데이터 제거
             redisRepository.deleteRoom(roomCode);
@@ -264,9 +260,12 @@ public class RoomService {
             // closed at 갱신
             room.setClosedAt(OffsetDateTime.now());
 
-            realTimeMetrics.onRoomDeleted(roomCode);
-            // 🔹 분포 메트릭 업데이트: 모든 참가자 퇴장으로 방 소멸
-            distributionMetrics.onRoomParticipantCountChanged(roomCode, participantCountBefore, 0);
+            if (closedCount >= 0) {
+                // 🔹 Redis에 있던 모든 참가자들의 퇴장 / 오프라인 처리와 방 제거를 한 번에 반영
+                realTimeMetrics.onRoomClosed(roomCode, closedCount);
+                // 🔹 분포 메트릭 업데이트: 모든 참가자 퇴장으로 방 소멸
+                distributionMetrics.onRoomParticipantCountChanged(roomCode, closedCount, 0);
+            }
 
             // 🔹 [수정] 로그에 온라인 사용자 수 추가
             //log.info("방 폐쇄 완료: roomCode={}, 퇴장참가자수={}, 현재 활성방={}, 총참가자={}, 온라인={}",
@@ -275,15 +274,18 @@ public class RoomService {
            //         realTimeMetrics.getOnlineUsersCount()); // 🔹 [추가] 온라인 사용자 수
 
         } else {
-            //일반 참여자의 경우 해당 참가자의 state 삭제
-            redisRepository.deleteCanvasState(roomCode, clientId);
+            //일반 참여자의 경우 해당 참가자의 state 삭제 (연결 종료로 이미 제거됐으면 false)
+            boolean left = redisRepository.claimParticipantLeave(roomCode, clientId);
 
-            // 🔹 메트릭 업데이트: 일반 참가자 퇴장
-            realTimeMetrics.onUserLeftRoom(roomCode, clientId.toString());
-            realTimeMetrics.onUserOffline(clientId.toString()); // 🔹 [추가] 오프라인 처리
+            // 퇴장을 맡은 호출에서만 메트릭 반영 (연결 종료 처리와 중복 차감 방지)
+            if (left) {
+                // 🔹 메트릭 업데이트: 일반 참가자 퇴장
+                realTimeMetrics.onUserLeftRoom(roomCode, clientId.toString());
+                realTimeMetrics.onUserOffline(clientId.toString()); // 🔹 [추가] 오프라인 처리
 
-            // 🔹 분포 메트릭 업데이트: 1명 감소
-            distributionMetrics.onRoomParticipantCountChanged(roomCode, participantCountBefore, participantCountBefore - 1);
+                // 🔹 분포 메트릭 업데이트: 1명 감소
+                distributionMetrics.onRoomParticipantCountChanged(roomCode, participantCountBefore, participantCountBefore - 1);
+            }
 
             // 🔹 [수정] 로그에 온라인 사용자 수 추가
             //log.info("참가자 퇴장 완료: roomCode={}, clientId={}, 참가자수 {}->={}, 총참가자={}, 온라인={}",
@@ -0,0 +1,211 @@
+package com.clov.backend.domain.room.websocket;
+
+import com.clov.backend.domain.canvas.dto.CanvasStateDto;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 캔버스 상태 이벤트(update-state / state-updated)를 위한 바이너리 서브 프로토콜 코덱입니다.
+ * 핸드셰이크 시 Sec-WebSocket-Protocol 로 {@link #SUBPROTOCOL} 을 협상한 클라이언트만 사용하며,
+ * 그 외 이벤트와 JSON 클라이언트는 기존 텍스트 프레임을 그대로 사용합니다.
+ *
+ * <pre>
+ * update-state   (C → S) : op(1) flags(1) body
+ * state-updated  (S → C) : op(1) flags(1) clientId(16) body
+ * states-updated (S → C) : op(1) count(u16) [flags(1) clientId(16) body] * count
+ *
+ * body : x(i32) y(i32) scale(f32) opacity(f32) rotation(i16) mode(u8)
+ *        filterLen(u8) filter(utf-8) overlayLen(u8) overlay(utf-8)
+ * </pre>
+ * 모든 정수는 big-endian 이며, flags 비트로 선택 필드의 존재 여부를 표시합니다.
+ */
+public final class BinaryStateProtocol {
+
+    /** 바이너리 상태 프레임을 사용하는 서브 프로토콜 이름 */
+    public static final String SUBPROTOCOL = "clov-bin.v1";
+
+    /** 기존 JSON 텍스트 프레임만 사용하는 서브 프로토콜 이름 (미협상 시와 동일) */
+    public static final String JSON_SUBPROTOCOL = "clov-json";
+
+    public static final byte OP_UPDATE_STATE = 0x01;
+    public static final byte OP_STATE_UPDATED = 0x02;
+    public static final byte OP_STATES_UPDATED = 0x03;
+
+    private static final int FLAG_MODE = 1;
+    private static final int FLAG_FILTER = 1 << 1;
+    private static final int FLAG_ROTATION = 1 << 2;
+    private static final int FLAG_MIC_PRESENT = 1 << 3;
+    private static final int FLAG_MIC_ON = 1 << 4;
+    private static final int FLAG_OVERLAY = 1 << 5;
+
+    /** 문자열을 제외한 body 고정 길이 */
+    private static final int FIXED_BODY_LENGTH = 4 + 4 + 4 + 4 + 2 + 1 + 1 + 1;
+    private static final int MAX_STRING_LENGTH = 255;
+
+    private BinaryStateProtocol() {
+    }
+
+    /**
+     * 클라이언트가 보낸 update-state 바이너리 프레임을 CanvasStateDto로 디코딩합니다.
+     * roomCode/clientId는 프레임에 포함되지 않으며 세션(핸드셰이크) 정보에서 가져옵니다.
+     *
+     * @param buffer 수신한 바이너리 페이로드
+     * @return 디코딩된 캔버스 상태
+     * @throws IllegalArgumentException opcode가 다르거나 프레임 길이가 맞지 않는 경우
+     */
+    public static CanvasStateDto decodeUpdateState(ByteBuffer buffer) {
+        ByteBuffer in = buffer.duplicate();
+        if (in.remaining() < 2 + FIXED_BODY_LENGTH || in.get() != OP_UPDATE_STATE) {
+            throw new IllegalArgumentException("update-state 바이너리 프레임 형식이 올바르지 않습니다.");
+        }
+        int flags = in.get() & 0xFF;
+        return readBody(in, flags);
+    }
+
+    /**
+     * update-state 바이너리 프레임을 생성합니다. (테스트 및 클라이언트 구현 참고용)
+     */
+    public static byte[] encodeUpdateState(CanvasStateDto state) {
+        byte[] filter = utf8(state.getFilter());
+        byte[] overlay = utf8(state.getOverlay());
+        ByteBuffer out = ByteBuffer.allocate(2 + FIXED_BODY_LENGTH + filter.length + overlay.length);
+        out.put(OP_UPDATE_STATE);
+        out.put((byte) flagsOf(state));
+        writeBody(out, state, filter, overlay);
+        return out.array();
+    }
+
+    /**
+     * 서버가 브로드캐스트하는 state-updated 바이너리 프레임을 생성합니다.
+     * 닉네임/방장 여부는 user-joined / host-changed / canvas-sync 로 전달되므로 포함하지 않습니다.
+     *
+     * @param clientId 상태가 변경된 참가자 ID
+     * @param state    변경된 상태
+     * @return 인코딩된 프레임 바이트
+     */
+    public static byte[] encodeStateUpdated(UUID clientId, CanvasStateDto state) {
+        byte[] filter = utf8(state.getFilter());
+        byte[] overlay = utf8(state.getOverlay());
+        ByteBuffer out = ByteBuffer.allocate(2 + 16 + FIXED_BODY_LENGTH + filter.length + overlay.length);
+        out.put(OP_STATE_UPDATED);
+        out.put((byte) flagsOf(state));
+        out.putLong(clientId.getMostSignificantBits());
+        out.putLong(clientId.getLeastSignificantBits());
+        writeBody(out, state, filter, overlay);
+        return out.array();
+    }
+
+    /**
+     * 컨플레이션 윈도우 동안 변경된 참가자들의 상태를 하나의 states-updated 배치 프레임으로 생성합니다.
+     *
+     * @param states clientId → 변경된 상태
+     * @return 인코딩된 프레임 바이트
+     */
+    public static byte[] encodeStatesUpdated(Map<String, CanvasStateDto> states) {
+        int size = 1 + 2;
+        for (CanvasStateDto state : states.values()) {
+            size += 1 + 16 + FIXED_BODY_LENGTH + utf8(state.getFilter()).length + utf8(state.getOverlay()).length;
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.put(OP_STATES_UPDATED);
+        out.putShort((short) states.size());
+        for (Map.Entry<String, CanvasStateDto> entry : states.entrySet()) {
+            CanvasStateDto state = entry.getValue();
+            UUID clientId = UUID.fromString(entry.getKey());
+            out.put((byte) flagsOf(state));
+            out.putLong(clientId.getMostSignificantBits());
+            out.putLong(clientId.getLeastSignificantBits());
+            writeBody(out, state, utf8(state.getFilter()), utf8(state.getOverlay()));
+        }
+        return out.array();
+    }
+
+    /**
+     * 세션이 바이너리 서브 프로토콜을 협상했는지 여부를 반환합니다.
+     */
+    public static boolean isBinary(String acceptedProtocol) {
+        return SUBPROTOCOL.equals(acceptedProtocol);
+    }
+
+    private static int flagsOf(CanvasStateDto state) {
+        int flags = 0;
+        if (state.getMode() != null) flags |= FLAG_MODE;
+        if (state.getFilter() != null) flags |= FLAG_FILTER;
+        if (state.getRotation() != null) flags |= FLAG_ROTATION;
+        if (state.getIsMicOn() != null) {
+            flags |= FLAG_MIC_PRESENT;
+            if (state.getIsMicOn()) flags |= FLAG_MIC_ON;
+        }
+        if (state.getOverlay() != null) flags |= FLAG_OVERLAY;
+        return flags;
+    }
+
+    private static void writeBody(ByteBuffer out, CanvasStateDto state, byte[] filter, byte[] overlay) {
+        out.putInt(state.getX() != null ? state.getX() : 0);
+        out.putInt(state.getY() != null ? state.getY() : 0);
+        out.putFloat(state.getScale() != null ? state.getScale().floatValue() : 1f);
+        out.putFloat(state.getOpacity() != null ? state.getOpacity().floatValue() : 1f);
+        out.putShort((short) (state.getRotation() != null ? state.getRotation() : 0));
+        out.put((byte) (state.getMode() != null ? state.getMode() : 0));
+        out.put((byte) filter.length);
+        out.put(filter);
+        out.put((byte) overlay.length);
+        out.put(overlay);
+    }
+
+    private static CanvasStateDto readBody(ByteBuffer in, int flags) {
+        int x = in.getInt();
+        int y = in.getInt();
+        double scale = widen(in.getFloat());
+        double opacity = widen(in.getFloat());
+        int rotation = in.getShort();
+        int mode = in.get() & 0xFF;
+        String filter = readString(in);
+        String overlay = readString(in);
+
+        return CanvasStateDto.builder()
+                .x(x)
+                .y(y)
+                .scale(scale)
+                .opacity(opacity)
+                .rotation((flags & FLAG_ROTATION) != 0 ? Math.floorMod(rotation, 360) : 0)
+                .mode((flags & FLAG_MODE) != 0 ? mode : null)
+                .filter((flags & FLAG_FILTER) != 0 ? filter : null)
+                .isMicOn((flags & FLAG_MIC_PRESENT) != 0 && (flags & FLAG_MIC_ON) != 0)
+                .overlay((flags & FLAG_OVERLAY) != 0 ? overlay : null)
+                .build();
+    }
+
+    private static String readString(ByteBuffer in) {
+        if (!in.hasRemaining()) {
+            throw new IllegalArgumentException("바이너리 프레임 문자열 길이 필드가 누락되었습니다.");
+        }
+        int length = in.get() & 0xFF;
+        if (in.remaining() < length) {
+            throw new IllegalArgumentException("바이너리 프레임 문자열 길이가 올바르지 않습니다.");
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_LENGTH) {
+            throw new IllegalArgumentException("filter/overlay 값은 255바이트를 넘을 수 없습니다.");
+        }
+        return bytes;
+    }
+
+    /** float32 → double 변환 시 0.800000011920929 같은 꼬리가 JSON 클라이언트에 노출되지 않도록 정리합니다. */
+    private static double widen(float value) {
+        return Double.parseDouble(Float.toString(value));
+    }
+}
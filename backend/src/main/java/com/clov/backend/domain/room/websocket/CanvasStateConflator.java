@@ -0,0 +1,118 @@
+package com.clov.backend.domain.room.websocket;
+
+import com.clov.backend.common.redis.RedisPublisher;
+import com.clov.backend.domain.canvas.dto.CanvasStateDto;
+import com.clov.backend.domain.roomstate.dto.RoomMessageDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * update-state 이벤트를 (roomCode, clientId) 기준으로 프레임 윈도우 동안 모아 최신 상태만 남기는 컨플레이터입니다.
+ * 윈도우마다 방당 한 번만 "update-states" 배치를 Redis에 퍼블리시하므로,
+ * 여러 참가자가 동시에 드래그해도 Redis 발행 / 상태 저장 / 브로드캐스트 횟수가 윈도우 수로 제한됩니다.
+ */
+@Slf4j
+@Component
+public class CanvasStateConflator {
+
+    private final RedisPublisher redisPublisher;
+
+    @Getter
+    private final boolean enabled;
+    private final long windowMillis;
+
+    // roomCode → (clientId → 윈도우 내 최신 상태). 내부 Map은 compute 안에서만 변경된다.
+    private final Map<String, Map<String, CanvasStateDto>> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService flusher;
+
+    public CanvasStateConflator(RedisPublisher redisPublisher,
+                                @Value("${websocket.conflation.enabled:true}") boolean enabled,
+                                @Value("${websocket.conflation.window-ms:33}") long windowMillis) {
+        this.redisPublisher = redisPublisher;
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        // 공용 @Scheduled 스레드(캔버스 동기화 스케줄러 등)에 밀리지 않도록 전용 스레드를 사용
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "state-conflator");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleAtFixedRate(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+    }
+
+    /**
+     * 참가자의 최신 상태를 윈도우에 기록합니다. 같은 윈도우 안의 이전 상태는 덮어씁니다.
+     * @param roomCode 방 코드
+     * @param clientId 참가자 ID
+     * @param state 최신 캔버스 상태
+     */
+    public void offer(String roomCode, String clientId, CanvasStateDto state) {
+        pending.compute(roomCode, (key, states) -> {
+            Map<String, CanvasStateDto> target = states != null ? states : new HashMap<>();
+            target.put(clientId, state);
+            return target;
+        });
+    }
+
+    /**
+     * 퇴장하는 참가자의 아직 퍼블리시되지 않은 상태를 버립니다.
+     * leave-room 퍼블리시나 연결 종료 처리보다 먼저 호출하여, 뒤늦은 배치가 퇴장한 참가자의 상태를 다시 저장하지 않게 합니다.
+     * @param roomCode 방 코드
+     * @param clientId 참가자 ID
+     */
+    public void discard(String roomCode, String clientId) {
+        pending.computeIfPresent(roomCode, (key, states) -> {
+            states.remove(clientId);
+            return states.isEmpty() ? null : states;
+        });
+    }
+
+    /**
+     * 윈도우가 끝날 때마다 방별로 모인 상태를 하나의 update-states 메시지로 퍼블리시합니다.
+     */
+    void flush() {
+        for (String roomCode : pending.keySet()) {
+            // remove는 compute와 원자적으로 동작하므로, 꺼낸 Map은 이후 누구도 수정하지 않는다
+            Map<String, CanvasStateDto> states = pending.remove(roomCode);
+            if (states == null || states.isEmpty()) {
+                continue;
+            }
+            try {
+                RoomMessageDto dto = RoomMessageDto.builder()
+                        .event("update-states")
+                        .roomCode(roomCode)
+                        .states(states)
+                        .build();
+                redisPublisher.publish(roomCode, dto);
+            } catch (Exception e) {
+                //log.warn("[CanvasStateConflator] room={} 배치 퍼블리시 실패", roomCode, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.clov.backend.domain.room.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 해시 타이머 휠 기반의 서버 측 WebSocket 하트비트입니다.
+ * 휠 한 바퀴가 하트비트 주기와 같으므로 세션은 등록 시 배정된 슬롯에 계속 머물고,
+ * 스레드 하나가 tick마다 슬롯 하나의 세션들에게만 Ping을 보냅니다. (세션마다 예약 작업을 만들지 않음)
+ * 응답(Pong 또는 일반 메시지) 없이 max-missed 번 연속으로 Ping을 받은 세션은 반쯤 열린 연결로 보고 종료하며,
+ * 종료 시 컨테이너가 afterConnectionClosed를 호출하여 일반 퇴장 처리가 수행됩니다.
+ */
+@Slf4j
+@Component
+public class HeartbeatMonitor {
+
+    private final WebSocketSessionManager sessionManager;
+    private final TaskExecutor websocketSendExecutor;
+    private final long tickMillis;
+    private final int maxMissed;
+    private final Counter reapedCounter;
+
+    private final Set<Entry>[] wheel;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private int cursor = 0;
+
+    private ScheduledExecutorService ticker;
+
+    @SuppressWarnings("unchecked")
+    public HeartbeatMonitor(WebSocketSessionManager sessionManager,
+                            TaskExecutor websocketSendExecutor,
+                            MeterRegistry meterRegistry,
+                            @Value("${websocket.heartbeat.interval-ms:15000}") long intervalMillis,
+                            @Value("${websocket.heartbeat.tick-ms:500}") long tickMillis,
+                            @Value("${websocket.heartbeat.max-missed:3}") int maxMissed) {
+        this.sessionManager = sessionManager;
+        this.websocketSendExecutor = websocketSendExecutor;
+        this.tickMillis = tickMillis;
+        this.maxMissed = maxMissed;
+        this.reapedCounter = Counter.builder("websocket.heartbeat.reaped")
+                .description("Pong 응답이 없어 종료된 세션 수")
+                .register(meterRegistry);
+
+        int slots = (int) Math.max(1, intervalMillis / tickMillis);
+        this.wheel = new Set[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ws-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * 세션을 휠에 등록합니다. 슬롯은 순서대로 배정하여 tick당 Ping 수를 고르게 분산합니다.
+     */
+    public void register(WebSocketSession session) {
+        int slot = Math.floorMod(nextSlot.getAndIncrement(), wheel.length);
+        Entry entry = new Entry(session, slot);
+        entries.put(session.getId(), entry);
+        wheel[slot].add(entry);
+    }
+
+    /**
+     * 세션 종료 시 휠에서 제거합니다.
+     */
+    public void unregister(WebSocketSession session) {
+        Entry entry = entries.remove(session.getId());
+        if (entry != null) {
+            wheel[entry.slot].remove(entry);
+        }
+    }
+
+    /**
+     * Pong 또는 일반 메시지를 수신하면 미응답 횟수를 초기화합니다.
+     */
+    public void onActivity(WebSocketSession session) {
+        Entry entry = entries.get(session.getId());
+        if (entry != null) {
+            entry.missed.set(0);
+        }
+    }
+
+    void tick() {
+        try {
+            Set<Entry> slot = wheel[cursor];
+            cursor = (cursor + 1) % wheel.length;
+
+            for (Entry entry : slot) {
+                if (entry.missed.incrementAndGet() > maxMissed) {
+                    reap(entry);
+                } else {
+                    sessionManager.getOutboundQueue(entry.session).ifPresent(queue -> queue.offer(OutboundFrame.ping()));
+                }
+            }
+        } catch (Exception e) {
+            //log.warn("[Heartbeat] tick 처리 실패", e);
+        }
+    }
+
+    private void reap(Entry entry) {
+        unregister(entry.session);
+        reapedCounter.increment();
+        //log.info("[Heartbeat] 응답 없는 세션 종료: {}", entry.session.getId());
+        // 죽은 소켓에 Close 프레임을 쓰다 막힐 수 있으므로 tick 스레드가 아닌 송신 스레드에서 종료
+        websocketSendExecutor.execute(() -> {
+            try {
+                entry.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (Exception e) {
+                //log.warn("[Heartbeat] 세션 종료 실패: {}", entry.session.getId(), e);
+            }
+        });
+    }
+
+    private static final class Entry {
+        private final WebSocketSession session;
+        private final int slot;
+        private final AtomicInteger missed = new AtomicInteger();
+
+        private Entry(WebSocketSession session, int slot) {
+            this.session = session;
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.clov.backend.domain.room.websocket;
+
+/**
+ * 수신 메시지 유량 제한 시 예산을 나누는 이벤트 분류입니다.
+ */
+public enum InboundEventClass {
+
+    /** update-state (텍스트 / 바이너리) */
+    STATE,
+
+    /** SDP/ICE 시그널링 */
+    SIGNALING,
+
+    /** join-room, assign-host 등 그 외 제어 이벤트 */
+    CONTROL;
+
+    public static InboundEventClass of(String event) {
+        if ("update-state".equals(event)) {
+            return STATE;
+        }
+        if (SignalingEnvelope.isSignaling(event)) {
+            return SIGNALING;
+        }
+        return CONTROL;
+    }
+}
@@ -0,0 +1,102 @@
+package com.clov.backend.domain.room.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * /ws 수신 메시지에 대한 세션별 유량 제한기입니다.
+ * 세션마다 이벤트 분류({@link InboundEventClass})별 토큰 버킷을 두고, 예산 초과 횟수도 별도 버킷으로 세어
+ * 초과가 계속되는 세션은 연결 종료 대상으로 판정합니다.
+ */
+@Component
+public class InboundRateLimiter {
+
+    public enum Decision {
+        /** 예산 안: 정상 처리 */
+        ALLOW,
+        /** 예산 초과: 이번 메시지는 버리거나 합침 */
+        THROTTLE,
+        /** 초과가 반복됨: 세션 종료 */
+        DISCONNECT
+    }
+
+    private final Map<String, SessionBudget> budgets = new ConcurrentHashMap<>();
+
+    private final Map<InboundEventClass, Limit> limits = new EnumMap<>(InboundEventClass.class);
+    private final Limit violationLimit;
+    private final Map<InboundEventClass, Counter> throttledCounters = new EnumMap<>(InboundEventClass.class);
+    private final Counter disconnectedCounter;
+
+    public InboundRateLimiter(MeterRegistry meterRegistry,
+                              @Value("${websocket.inbound.state.rate:90}") double stateRate,
+                              @Value("${websocket.inbound.state.burst:90}") int stateBurst,
+                              @Value("${websocket.inbound.signaling.rate:50}") double signalingRate,
+                              @Value("${websocket.inbound.signaling.burst:100}") int signalingBurst,
+                              @Value("${websocket.inbound.control.rate:10}") double controlRate,
+                              @Value("${websocket.inbound.control.burst:20}") int controlBurst,
+                              @Value("${websocket.inbound.violation.rate:20}") double violationRate,
+                              @Value("${websocket.inbound.violation.burst:200}") int violationBurst) {
+        limits.put(InboundEventClass.STATE, new Limit(stateRate, stateBurst));
+        limits.put(InboundEventClass.SIGNALING, new Limit(signalingRate, signalingBurst));
+        limits.put(InboundEventClass.CONTROL, new Limit(controlRate, controlBurst));
+        this.violationLimit = new Limit(violationRate, violationBurst);
+
+        for (InboundEventClass eventClass : InboundEventClass.values()) {
+            throttledCounters.put(eventClass, Counter.builder("websocket.inbound.throttled")
+                    .description("세션별 수신 예산을 초과한 메시지 수")
+                    .tag("class", eventClass.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.disconnectedCounter = Counter.builder("websocket.inbound.disconnected")
+                .description("수신 예산 초과가 반복되어 종료된 세션 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 메시지 하나를 처리해도 되는지 판정합니다.
+     * @param sessionId 세션 ID
+     * @param eventClass 이벤트 분류
+     */
+    public Decision check(String sessionId, InboundEventClass eventClass) {
+        SessionBudget budget = budgets.computeIfAbsent(sessionId, id -> new SessionBudget());
+        if (budget.buckets.get(eventClass).tryAcquire()) {
+            return Decision.ALLOW;
+        }
+
+        throttledCounters.get(eventClass).increment();
+        if (budget.violations.tryAcquire()) {
+            return Decision.THROTTLE;
+        }
+        disconnectedCounter.increment();
+        return Decision.DISCONNECT;
+    }
+
+    /**
+     * 세션 종료 시 예산을 제거합니다.
+     */
+    public void release(String sessionId) {
+        budgets.remove(sessionId);
+    }
+
+    private record Limit(double ratePerSecond, int burst) {
+
+        TokenBucket newBucket() {
+            return new TokenBucket(ratePerSecond, burst);
+        }
+    }
+
+    private class SessionBudget {
+        private final Map<InboundEventClass, TokenBucket> buckets = new EnumMap<>(InboundEventClass.class);
+        private final TokenBucket violations = violationLimit.newBucket();
+
+        SessionBudget() {
+            limits.forEach((eventClass, limit) -> buckets.put(eventClass, limit.newBucket()));
+        }
+    }
+}
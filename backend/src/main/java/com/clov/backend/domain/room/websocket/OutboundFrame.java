@@ -0,0 +1,104 @@
+package com.clov.backend.domain.room.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * 이벤트 하나당 한 번만 인코딩되어 방의 모든 세션 송신 큐가 공유하는 불변 프레임입니다.
+ * 텍스트 메시지는 생성 시점에 한 번 만들어 그대로 재사용하며,
+ * 바이너리 프레임은 세션마다 같은 byte[]를 감싸는 뷰만 만듭니다. (ByteBuffer position이 전송 중 소비되기 때문)
+ * 상태 프레임(state-updated / states-updated)은 내용({@link StatePatch})을 함께 보관하며,
+ * 큐가 가득 찼을 때 같은 참가자의 프레임끼리 필드를 병합해 다시 인코딩한 프레임 하나로 합칠 수 있습니다.
+ */
+public final class OutboundFrame {
+
+    private final WebSocketMessage<?> message;
+    private final byte[] binary;
+    @Getter
+    private final StatePatch patch;
+    // 합친 상태 프레임을 다시 인코딩할 때 사용
+    private final ObjectMapper objectMapper;
+
+    private OutboundFrame(WebSocketMessage<?> message, byte[] binary, StatePatch patch, ObjectMapper objectMapper) {
+        this.message = message;
+        this.binary = binary;
+        this.patch = patch;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 버릴 수 없는 일반 이벤트 프레임을 생성합니다. (user-joined, host-changed 등)
+     */
+    public static OutboundFrame control(String text) {
+        return new OutboundFrame(new TextMessage(text), null, null, null);
+    }
+
+    /**
+     * 이미 UTF-8 JSON으로 인코딩된 바이트(예: Redis에서 수신한 페이로드)로 프레임을 생성합니다.
+     * Jackson 역직렬화/재직렬화를 거치지 않습니다.
+     */
+    public static OutboundFrame encoded(byte[] utf8Json) {
+        return new OutboundFrame(new TextMessage(utf8Json), null, null, null);
+    }
+
+    /**
+     * 참가자 상태 프레임을 생성합니다. JSON / 바이너리 메시지를 한 번씩 인코딩합니다.
+     * @param patch 참가자별 변경분
+     * @param objectMapper JSON 인코더 (합친 프레임을 다시 인코딩할 때도 사용)
+     */
+    public static OutboundFrame state(StatePatch patch, ObjectMapper objectMapper) throws JsonProcessingException {
+        String text = objectMapper.writeValueAsString(patch.toPayload());
+        return new OutboundFrame(new TextMessage(text), patch.toBinary(), patch, objectMapper);
+    }
+
+    /**
+     * 이 상태 프레임 뒤에 도착한 newer를 합친 프레임을 만듭니다. 어느 참가자의 필드 변경도 잃지 않습니다.
+     */
+    public OutboundFrame mergedWith(OutboundFrame newer) throws JsonProcessingException {
+        return state(patch.merge(newer.patch), objectMapper);
+    }
+
+    /**
+     * 하트비트용 Ping 프레임을 생성합니다. 다른 프레임과 같은 큐를 거쳐 세션당 단일 송신 스레드를 유지합니다.
+     */
+    public static OutboundFrame ping() {
+        return new OutboundFrame(new PingMessage(), null, null, null);
+    }
+
+    public boolean isState() {
+        return patch != null;
+    }
+
+    /**
+     * 상태 프레임이 담은 참가자 ID 목록 (상태 프레임이 아니면 빈 집합)
+     */
+    public Set<String> clientIds() {
+        return patch != null ? patch.clientIds() : Collections.emptySet();
+    }
+
+    /**
+     * 세션이 협상한 서브 프로토콜에 맞는 WebSocket 메시지로 변환합니다.
+     */
+    public WebSocketMessage<?> toMessage(WebSocketSession session) {
+        return toMessage(BinaryStateProtocol.isBinary(session.getAcceptedProtocol()));
+    }
+
+    /**
+     * @param binarySession 세션이 바이너리 서브 프로토콜을 협상했는지 여부
+     */
+    public WebSocketMessage<?> toMessage(boolean binarySession) {
+        if (binary != null && binarySession) {
+            return new BinaryMessage(binary);
+        }
+        return message;
+    }
+}
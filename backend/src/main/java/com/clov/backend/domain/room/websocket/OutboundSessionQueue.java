@@ -0,0 +1,328 @@
+package com.clov.backend.domain.room.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 세션 하나에 대한 비동기 bounded 송신 큐입니다.
+ * 브로드캐스트 스레드는 offer()로 프레임을 적재만 하고, 실제 sendMessage는 송신 전용 Executor에서
+ * 세션당 한 번에 하나의 drain 작업으로 수행됩니다. 따라서 느린 세션 하나가 방 전체 전달을 막지 않습니다.
+ */
+@Slf4j
+public class OutboundSessionQueue {
+
+    /** drain 한 번에 보낼 최대 프레임 수 (다른 세션에 스레드를 양보하기 위함) */
+    private static final int MAX_FRAMES_PER_DRAIN = 32;
+
+    @Getter
+    private final WebSocketSession session;
+    private final int capacity;
+    private final SlowConsumerPolicy policy;
+    private final Executor executor;
+    private final Metrics metrics;
+
+    private final ArrayDeque<OutboundFrame> frames = new ArrayDeque<>();
+    // 가상 스레드 모드에서 캐리어 스레드 고정(pinning)을 피하기 위해 synchronized 대신 사용
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private volatile boolean closed = false;
+
+    /** 마지막 / 최대 sendMessage 소요 시간 (나노초) */
+    @Getter
+    private volatile long lastSendNanos;
+    @Getter
+    private volatile long maxSendNanos;
+    @Getter
+    private volatile long droppedFrames;
+
+    public OutboundSessionQueue(WebSocketSession session, int capacity, SlowConsumerPolicy policy,
+                                Executor executor, Metrics metrics) {
+        this.session = session;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.executor = executor;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 프레임을 큐에 적재하고 drain 작업을 예약합니다.
+     * 큐가 가득 찬 경우 설정된 {@link SlowConsumerPolicy}를 적용합니다.
+     * @param frame 전송할 프레임
+     */
+    public void offer(OutboundFrame frame) {
+        if (closed || !session.isOpen()) {
+            return;
+        }
+
+        boolean accepted;
+        int depth;
+        lock.lock();
+        try {
+            accepted = frames.size() < capacity ? frames.offer(frame) : applyPolicy(frame);
+            depth = frames.size();
+        } finally {
+            lock.unlock();
+        }
+        metrics.queueDepth().record(depth);
+
+        if (!accepted) {
+            closeSlowConsumer();
+            return;
+        }
+        scheduleDrain();
+    }
+
+    /**
+     * 현재 큐에 대기 중인 프레임 수
+     */
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return frames.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 세션 종료 시 대기 중인 프레임을 비웁니다.
+     */
+    public void close() {
+        closed = true;
+        lock.lock();
+        try {
+            frames.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 큐가 가득 찼을 때의 처리. lock을 잡은 상태에서 호출됩니다.
+     * @return 프레임을 큐에 넣었으면 true, 세션을 종료해야 하면 false
+     */
+    private boolean applyPolicy(OutboundFrame frame) {
+        switch (policy) {
+            case COALESCE -> {
+                if (coalesce(frame)) {
+                    metrics.coalesced().increment();
+                    return true;
+                }
+                // 합칠 상태 프레임이 없다: 상태(델타)를 버리면 클라이언트와 어긋나므로 세션을 종료 (재접속 시 canvas-sync로 다시 맞춤)
+                return false;
+            }
+            case DROP_OLDEST_STATE -> {
+                return dropOldestState(frame);
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 대기 중인 상태 프레임을 병합하여 자리를 만들고 새 프레임을 넣습니다. 어떤 참가자의 필드 변경도 버리지 않습니다.
+     * @return 병합할 상태 프레임이 없어 넣지 못했으면 false
+     */
+    private boolean coalesce(OutboundFrame frame) {
+        if (frame.isState()) {
+            return mergeOverlapping(frame) || mergeIntoTail(frame);
+        }
+        if (mergeAdjacentStates()) {
+            frames.offer(frame);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 새 상태 프레임과 참가자가 겹치는 대기 프레임들을 꺼내 도착 순서대로 새 프레임과 병합하고 맨 뒤에 넣습니다.
+     * 꺼낸 프레임과 참가자가 겹치는 뒤쪽 프레임도 함께 꺼내야 같은 참가자의 이전 변경이 최신 변경 뒤로 가지 않습니다.
+     */
+    private boolean mergeOverlapping(OutboundFrame frame) {
+        Set<String> participants = new HashSet<>(frame.clientIds());
+        List<OutboundFrame> overlapping = new ArrayList<>();
+        for (OutboundFrame queued : frames) {
+            if (queued.isState() && !Collections.disjoint(queued.clientIds(), participants)) {
+                overlapping.add(queued);
+                participants.addAll(queued.clientIds());
+            }
+        }
+        if (overlapping.isEmpty()) {
+            return false;
+        }
+        overlapping.add(frame);
+        OutboundFrame merged = merge(overlapping);
+        if (merged == null) {
+            return false;
+        }
+        frames.removeIf(overlapping::contains);
+        frames.offer(merged);
+        return true;
+    }
+
+    /**
+     * 겹치는 참가자가 없으면 맨 뒤의 상태 프레임과 병합합니다. (사이에 제어 이벤트가 없으므로 순서가 바뀌지 않음)
+     */
+    private boolean mergeIntoTail(OutboundFrame frame) {
+        OutboundFrame last = frames.peekLast();
+        if (last == null || !last.isState()) {
+            return false;
+        }
+        OutboundFrame merged = merge(List.of(last, frame));
+        if (merged == null) {
+            return false;
+        }
+        frames.pollLast();
+        frames.offer(merged);
+        return true;
+    }
+
+    /**
+     * 제어 이벤트가 들어갈 자리를 만들기 위해 연속된 상태 프레임 두 개를 하나로 병합합니다.
+     */
+    private boolean mergeAdjacentStates() {
+        List<OutboundFrame> queued = new ArrayList<>(frames);
+        for (int i = 0; i + 1 < queued.size(); i++) {
+            if (queued.get(i).isState() && queued.get(i + 1).isState()) {
+                OutboundFrame merged = merge(queued.subList(i, i + 2));
+                if (merged == null) {
+                    return false;
+                }
+                queued.set(i, merged);
+                queued.remove(i + 1);
+                frames.clear();
+                frames.addAll(queued);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 도착 순서대로 나열된 상태 프레임들을 하나로 병합합니다. 인코딩에 실패하면 null
+     */
+    private OutboundFrame merge(List<OutboundFrame> ordered) {
+        try {
+            OutboundFrame merged = ordered.get(0);
+            for (int i = 1; i < ordered.size(); i++) {
+                merged = merged.mergedWith(ordered.get(i));
+            }
+            return merged;
+        } catch (Exception e) {
+            //log.warn("[OutboundSessionQueue] 상태 프레임 병합 실패: {}", session.getId(), e);
+            return null;
+        }
+    }
+
+    private boolean dropOldestState(OutboundFrame frame) {
+        Iterator<OutboundFrame> it = frames.iterator();
+        while (it.hasNext()) {
+            if (it.next().isState()) {
+                it.remove();
+                frames.offer(frame);
+                countDrop();
+                return true;
+            }
+        }
+        // 버릴 상태 프레임이 없다: 새 프레임이 상태면 새 프레임을 버리고, 제어 이벤트면 더 이상 따라올 수 없는 세션이다
+        if (frame.isState()) {
+            countDrop();
+            return true;
+        }
+        return false;
+    }
+
+    private void countDrop() {
+        droppedFrames++;
+        metrics.dropped().increment();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (Exception e) {
+                draining.set(false);
+                //log.warn("[OutboundSessionQueue] drain 예약 실패: {}", session.getId(), e);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            for (int i = 0; i < MAX_FRAMES_PER_DRAIN; i++) {
+                OutboundFrame frame;
+                lock.lock();
+                try {
+                    frame = frames.poll();
+                } finally {
+                    lock.unlock();
+                }
+                if (frame == null || closed) {
+                    break;
+                }
+                send(frame);
+            }
+        } finally {
+            draining.set(false);
+        }
+
+        // drain 종료와 offer 사이에 들어온 프레임이 남아 있으면 다시 예약
+        if (!closed && getQueueDepth() > 0) {
+            scheduleDrain();
+        }
+    }
+
+    private void send(OutboundFrame frame) {
+        if (!session.isOpen()) {
+            close();
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            session.sendMessage(frame.toMessage(session));
+        } catch (Exception e) {
+            //log.warn("[OutboundSessionQueue] 메시지 전송 실패: {}", session.getId(), e);
+            close();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            lastSendNanos = elapsed;
+            if (elapsed > maxSendNanos) {
+                maxSendNanos = elapsed;
+            }
+            metrics.sendTime().record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void closeSlowConsumer() {
+        close();
+        metrics.closed().increment();
+        // offer 호출 스레드(메일박스, Redis I/O)를 막지 않고 진행 중인 sendMessage와 겹치지 않도록 송신 스레드에서 종료
+        executor.execute(() -> {
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (Exception e) {
+                //log.warn("[OutboundSessionQueue] 느린 세션 종료 실패: {}", session.getId(), e);
+            }
+        });
+    }
+
+    /**
+     * 모든 세션 큐가 공유하는 Micrometer 미터 묶음입니다. (세션별 태그는 카디널리티 문제로 사용하지 않음)
+     */
+    public record Metrics(DistributionSummary queueDepth, Timer sendTime,
+                          Counter dropped, Counter coalesced, Counter closed) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.clov.backend.domain.room.websocket;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+/**
+ * 핸드셰이크 시 URI 쿼리의 roomCode / clientId를 한 번만 파싱하여 세션 attribute에 저장하는 인터셉터입니다.
+ * 이후 핸들러와 세션 매니저는 URI를 다시 파싱하지 않고 attribute를 사용합니다.
+ */
+@Slf4j
+@Component
+public class RoomHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String ATTR_ROOM_CODE = "roomCode";
+    public static final String ATTR_CLIENT_ID = "clientId";
+    /** 재접속 시 클라이언트가 마지막으로 받은 방 이벤트 ID (선택) */
+    public static final String ATTR_LAST_EVENT_ID = "lastEventId";
+
+    /**
+     * roomCode / clientId가 없으면 업그레이드 전에 400으로 거절합니다.
+     */
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams();
+        String roomCode = params.getFirst(ATTR_ROOM_CODE);
+        String clientId = params.getFirst(ATTR_CLIENT_ID);
+
+        if (roomCode == null || roomCode.isBlank() || clientId == null || clientId.isBlank()) {
+            //log.warn("[Handshake] roomCode/clientId 누락: {}", request.getURI());
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+            return false;
+        }
+
+        attributes.put(ATTR_ROOM_CODE, roomCode);
+        attributes.put(ATTR_CLIENT_ID, clientId);
+
+        String lastEventId = params.getFirst(ATTR_LAST_EVENT_ID);
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            attributes.put(ATTR_LAST_EVENT_ID, lastEventId);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.clov.backend.domain.room.websocket;
+
+/**
+ * 이 노드에 방의 첫 세션이 등록되거나 마지막 세션이 제거될 때 호출되는 리스너입니다.
+ */
+public interface RoomPresenceListener {
+
+    /**
+     * @param roomCode 로컬 세션 유무가 바뀐 방 코드
+     * @param hasLocalSessions 변경 후 이 노드에 해당 방의 세션이 있는지 여부
+     */
+    void onRoomPresenceChanged(String roomCode, boolean hasLocalSessions);
+}
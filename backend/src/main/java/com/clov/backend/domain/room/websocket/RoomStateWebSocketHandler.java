@@ -4,7 +4,13 @@ import com.clov.backend.common.enums.RoomStatus;
 import com.clov.backend.common.metrics.RealTimeWebRTCMetrics;
 import com.clov.backend.common.metrics.RoomDistributionMetrics;
 import com.clov.backend.common.redis.RedisPublisher;
+import com.clov.backend.common.redis.RedisSubscriber;
+import com.clov.backend.common.redis.RoomEventMailbox;
+import com.clov.backend.common.redis.RoomRosterCache;
+import com.clov.backend.common.redis.repository.RoomRoster;
+import com.clov.backend.common.redis.SignalingRouter;
 import com.clov.backend.common.redis.repository.RedisRepository;
+import com.clov.backend.domain.canvas.dto.CanvasStateDto;
 import com.clov.backend.domain.participant.entity.Participant;
 import com.clov.backend.domain.participant.repository.ParticipantRepository;
 import com.clov.backend.domain.room.repository.RoomRepository;
@@ -14,68 +20,105 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
  * 클라이언트 WebSocket 메시지를 처리하고 Redis에 퍼블리시하거나 SDP/ICE를 직접 릴레이하는 핸들러입니다.
+ * {@link BinaryStateProtocol#SUBPROTOCOL} 을 협상한 클라이언트는 update-state 를 바이너리 프레임으로 보낼 수 있습니다.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class RoomStateWebSocketHandler extends TextWebSocketHandler {
+public class RoomStateWebSocketHandler extends AbstractWebSocketHandler implements SubProtocolCapable {
 
     private final ObjectMapper objectMapper;
     private final RedisPublisher redisPublisher;
+    private final RedisSubscriber redisSubscriber;
     private final WebSocketSessionManager sessionManager;
     private final RedisRepository redisRepository;
     private final RoomRepository roomRepository;
     private final ParticipantRepository participantRepository;
     private final WebSocketMessageSender messageSender;
+    private final CanvasStateConflator conflator;
+    private final StateDeltaTracker deltaTracker;
+    private final SignalingRouter signalingRouter;
+    private final InboundRateLimiter rateLimiter;
+    private final HeartbeatMonitor heartbeatMonitor;
+    private final RoomEventMailbox roomEventMailbox;
+    private final RoomRosterCache rosterCache;
     private final RealTimeWebRTCMetrics realTimeMetrics;
     private final RoomDistributionMetrics distributionMetrics;
 
 
+    /**
+     * 핸드셰이크 시 협상 가능한 서브 프로토콜 목록입니다.
+     * 서브 프로토콜을 요청하지 않은 기존 클라이언트는 JSON 텍스트 프레임을 그대로 사용합니다.
+     */
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(BinaryStateProtocol.SUBPROTOCOL, BinaryStateProtocol.JSON_SUBPROTOCOL);
+    }
+
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
         sessionManager.registerSession(session);
+        signalingRouter.register(sessionManager.getClientIdFromSession(session));
+        heartbeatMonitor.register(session);
+
+        // 재접속 시 마지막으로 받은 이벤트 이후를 재전송 (방 메일박스에서 실행되어 이후 실시간 이벤트보다 먼저 도착)
+        Object lastEventId = session.getAttributes().get(RoomHandshakeInterceptor.ATTR_LAST_EVENT_ID);
+        if (lastEventId != null) {
+            String roomCode = sessionManager.getRoomCodeFromSession(session);
+            String clientId = sessionManager.getClientIdFromSession(session);
+            roomEventMailbox.submit(roomCode, () -> redisSubscriber.replay(roomCode, clientId, lastEventId.toString()));
+        }
         //log.info("[WebSocket] 연결됨: {}", session.getId());
     }
 
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        heartbeatMonitor.onActivity(session);
         try {
             String payload = message.getPayload();
-            JsonNode root = objectMapper.readTree(payload);
-            String event = root.get("event").asText();
-            JsonNode dataNode = root.get("data");
-
-            // SDP/ICE 메시지는 직접 릴레이
-            if (event.equals("sdp-offer") || event.equals("sdp-answer") || event.equals("ice-candidate")) {
-                String targetClientId = dataNode.get("target").asText();
 
-                Map<String, Object> relayPayload = Map.of(
-                        "event", event,
-                        "data", objectMapper.convertValue(dataNode, Map.class)
-                );
+            // event 와 data.target 만 스트리밍으로 읽고 전체 파싱 전에 수신 예산부터 확인
+            SignalingEnvelope envelope = SignalingEnvelope.peek(objectMapper.getFactory(), payload);
+            InboundEventClass eventClass = InboundEventClass.of(envelope.event());
+            InboundRateLimiter.Decision decision = admit(session, eventClass);
+            if (decision == InboundRateLimiter.Decision.DISCONNECT
+                    || (decision == InboundRateLimiter.Decision.THROTTLE && eventClass != InboundEventClass.STATE)) {
+                return;
+            }
 
-                String relayJson = objectMapper.writeValueAsString(relayPayload);
-                sessionManager.sendToClient(targetClientId, relayJson);
-                //log.info("[WebSocket] {} 릴레이 완료 → targetClientId: {}", event, targetClientId);
+            // SDP/ICE 메시지는 원본 페이로드를 대상 노드로 그대로 릴레이
+            if (eventClass == InboundEventClass.SIGNALING) {
+                if (envelope.target() != null) {
+                    signalingRouter.route(envelope.target(), payload);
+                    //log.info("[WebSocket] {} 릴레이 완료 → targetClientId: {}", envelope.event(), envelope.target());
+                }
                 return;
             }
 
+            JsonNode root = objectMapper.readTree(payload);
+            String event = root.get("event").asText();
+            JsonNode dataNode = root.get("data");
+
             // 일반 이벤트는 Redis에 퍼블리시
             RoomMessageDto dto = objectMapper.treeToValue(dataNode, RoomMessageDto.class);
             dto.setEvent(event);
-            redisPublisher.publish(dto.getRoomCode(), dto);
+            publish(dto, decision == InboundRateLimiter.Decision.THROTTLE);
             //log.info("[WebSocket] 메시지 수신 및 Redis 퍼블리시: {}", dto.getRoomCode());
 
         } catch (Exception e) {
@@ -83,24 +126,118 @@ public class RoomStateWebSocketHandler extends TextWebSocketHandler {
         }
     }
 
+    /**
+     * 바이너리 서브 프로토콜로 수신한 update-state 프레임을 처리합니다.
+     * roomCode/clientId는 프레임이 아닌 세션 URI에서 가져와 JSON 경로와 동일하게 Redis에 퍼블리시합니다.
+     */
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        heartbeatMonitor.onActivity(session);
+        try {
+            InboundRateLimiter.Decision decision = admit(session, InboundEventClass.STATE);
+            if (decision == InboundRateLimiter.Decision.DISCONNECT) {
+                return;
+            }
+            CanvasStateDto state = BinaryStateProtocol.decodeUpdateState(message.getPayload());
+
+            RoomMessageDto dto = RoomMessageDto.builder()
+                    .event("update-state")
+                    .roomCode(sessionManager.getRoomCodeFromSession(session))
+                    .clientId(UUID.fromString(sessionManager.getClientIdFromSession(session)))
+                    .state(state)
+                    .build();
+            publish(dto, decision == InboundRateLimiter.Decision.THROTTLE);
+        } catch (Exception e) {
+            //log.warn("[WebSocket] 바이너리 메시지 처리 실패: {}", session.getId(), e);
+        }
+    }
+
+    /**
+     * 서버 하트비트 Ping에 대한 응답입니다.
+     */
+    @Override
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) {
+        heartbeatMonitor.onActivity(session);
+    }
+
+    /**
+     * 세션의 수신 예산을 확인합니다. 초과가 반복된 세션은 POLICY_VIOLATION으로 종료합니다.
+     */
+    private InboundRateLimiter.Decision admit(WebSocketSession session, InboundEventClass eventClass) {
+        InboundRateLimiter.Decision decision = rateLimiter.check(session.getId(), eventClass);
+        if (decision == InboundRateLimiter.Decision.DISCONNECT) {
+            //log.warn("[WebSocket] 수신 예산 초과 반복으로 세션 종료: {}", session.getId());
+            try {
+                session.close(CloseStatus.POLICY_VIOLATION);
+            } catch (Exception e) {
+                //log.warn("[WebSocket] 세션 종료 실패: {}", session.getId(), e);
+            }
+        }
+        return decision;
+    }
+
+    /**
+     * update-state는 컨플레이터에 넘겨 윈도우 단위 배치로 퍼블리시하고, 나머지 이벤트는 즉시 퍼블리시합니다.
+     * 예산을 초과한 update-state도 컨플레이터에서는 최신 상태로 합쳐지므로 Redis 발행 수는 늘지 않으며,
+     * 컨플레이션이 꺼져 있으면 버립니다.
+     */
+    private void publish(RoomMessageDto dto, boolean throttled) {
+        if ("update-state".equals(dto.getEvent()) && conflator.isEnabled()
+                && dto.getState() != null && dto.getClientId() != null) {
+            conflator.offer(dto.getRoomCode(), dto.getClientId().toString(), dto.getState());
+            return;
+        }
+        if (throttled) {
+            return;
+        }
+        // 퇴장 전에 윈도우에 남은 상태를 버려 leave-room 뒤에 퍼블리시되지 않게 함
+        if ("leave-room".equals(dto.getEvent()) && dto.getClientId() != null) {
+            conflator.discard(dto.getRoomCode(), dto.getClientId().toString());
+        }
+        redisPublisher.publish(dto.getRoomCode(), dto);
+    }
+
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
-        sessionManager.removeSession(session);
+        heartbeatMonitor.unregister(session);
+        rateLimiter.release(session.getId());
+        // 하트비트 종료와 컨테이너 종료 통지가 겹쳐도 퇴장 처리는 한 번만 수행
+        if (!sessionManager.removeSession(session)) {
+            return;
+        }
         //log.info("[WebSocket] 연결 종료됨: {}", session.getId());
 
+        // 핸드셰이크 시 저장한 roomCode, clientId
+        String roomCode = sessionManager.getRoomCodeFromSession(session);
+        String clientIdStr = sessionManager.getClientIdFromSession(session);
+
+        // 윈도우에 남은 상태가 퇴장 처리 뒤에 저장되지 않도록 먼저 버림
+        conflator.discard(roomCode, clientIdStr);
+
+        // 같은 방의 leave-room, assign-host 등과 순서가 섞이지 않도록 방 메일박스에서 퇴장 처리
+        roomEventMailbox.submit(roomCode, () -> handleDisconnect(roomCode, clientIdStr));
+    }
+
+    /**
+     * 연결 종료로 인한 퇴장 처리입니다. 방장이면 방을 폐쇄하고, 아니면 해당 참가자만 제거한 뒤 user-left를 브로드캐스트합니다.
+     */
+    private void handleDisconnect(String roomCode, String clientIdStr) {
         try {
-            // URI에서 roomCode, clientId 추출
-            String roomCode = sessionManager.getRoomCodeFromSession(session);
-            String clientIdStr = sessionManager.getClientIdFromSession(session);
             UUID clientId = UUID.fromString(clientIdStr);
             OffsetDateTime leftAt = OffsetDateTime.now();
 
+            // 같은 노드로 이미 재접속한 경우가 아니면 시그널링 디렉터리에서 제거
+            if (!sessionManager.hasClient(clientIdStr)) {
+                signalingRouter.unregister(clientIdStr);
+            }
+
             // 기존 참가자 수 가져오기 (분포 메트릭용)
             int participantCountBefore = redisRepository.getParticipantCount(roomCode);
 
-            // 닉네임 및 호스트 여부 조회
-            String nickname = redisRepository.getNickname(roomCode, clientId);
-            boolean isHost = redisRepository.isHost(roomCode, clientId);
+            // 닉네임 및 호스트 여부 조회 (명단 캐시, 버전이 같으면 Redis GET 한 번)
+            RoomRoster roster = rosterCache.current(roomCode);
+            String nickname = Objects.requireNonNullElse(roster.nickname(clientId), "");
+            boolean isHost = roster.isHost(clientId);
 
 
             // 참여자 DB에 leftAt 반영
@@ -112,15 +249,13 @@ public class RoomStateWebSocketHandler extends TextWebSocketHandler {
 
             // 방장인 경우: 방 폐쇄
             if (isHost) {
-                // [메트릭 처리] : 모든 참가자에 대한 메트릭 반영
-                List<String> participants = redisRepository.getParticipants(roomCode);
-                for (String pid : participants) {
-                    realTimeMetrics.onUserLeftRoom(roomCode, pid);
-                    realTimeMetrics.onUserOffline(pid);
-                }
+                // 방 폐쇄를 맡았는지 확인 (TTL 만료와 겹쳐 이미 폐쇄된 방이면 -1, 메트릭 중복 반영 방지)
+                int closedCount = redisRepository.claimRoomClose(roomCode);
 
                 // 방 제거
                 redisRepository.deleteRoom(roomCode);
+                deltaTracker.forgetRoom(roomCode);
+                rosterCache.forget(roomCode);
 
                 // DB의 Room 상태도 변경
                 roomRepository.findByRoomCode(roomCode).ifPresent(room -> {
@@ -129,22 +264,28 @@ public class RoomStateWebSocketHandler extends TextWebSocketHandler {
                     roomRepository.save(room);
                 });
 
-                //[메트릭 처리] : 방 참여 인원 변경 및 방 폐쇄 반영
-                distributionMetrics.onRoomParticipantCountChanged(roomCode, participantCountBefore, 0);
-                realTimeMetrics.onRoomDeleted(roomCode);
+                //[메트릭 처리] : 모든 참가자 퇴장, 방 참여 인원 변경 및 방 폐쇄 반영
+                if (closedCount >= 0) {
+                    distributionMetrics.onRoomParticipantCountChanged(roomCode, closedCount, 0);
+                    realTimeMetrics.onRoomClosed(roomCode, closedCount);
+                }
 
                 //log.info("방 폐쇄 완료: roomCode={}, 퇴장참가자수={}, 현재 활성방={}, 총참가자={}, 온라인={}",
                         // roomCode, participantCountBefore,
                         // realTimeMetrics.getActiveRoomsCount(), realTimeMetrics.getTotalClientsCount(),
                         // realTimeMetrics.getOnlineUsersCount());
             } else {
-                // 상태 제거 (개별)
-                redisRepository.deleteCanvasState(roomCode, clientId);
+                // 상태 제거 (개별, leave-room / REST 퇴장으로 이미 제거됐으면 false)
+                boolean left = redisRepository.claimParticipantLeave(roomCode, clientId);
+                deltaTracker.forgetParticipant(roomCode, clientIdStr);
+                rosterCache.removeParticipant(roomCode, clientId);
 
-                // [메트릭 처리] :  leftRoom, 오프라인 처리, 방 참여 인원 변경 메트릭 반영
-                realTimeMetrics.onUserLeftRoom(roomCode, clientIdStr);
-                realTimeMetrics.onUserOffline(clientIdStr);
-                distributionMetrics.onRoomParticipantCountChanged(roomCode, participantCountBefore, participantCountBefore - 1);
+                // [메트릭 처리] :  leftRoom, 오프라인 처리, 방 참여 인원 변경 메트릭 반영 (퇴장을 맡은 호출에서 한 번만)
+                if (left) {
+                    realTimeMetrics.onUserLeftRoom(roomCode, clientIdStr);
+                    realTimeMetrics.onUserOffline(clientIdStr);
+                    distributionMetrics.onRoomParticipantCountChanged(roomCode, participantCountBefore, participantCountBefore - 1);
+                }
 
                 //log.info("참가자 퇴장 완료: roomCode={}, clientId={}, 참가자수 {}→{}, 총참가자={}, 온라인={}",
                         // roomCode, clientIdStr, participantCountBefore, participantCountBefore - 1,
@@ -0,0 +1,79 @@
+package com.clov.backend.domain.room.websocket;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * 수신 메시지에서 event 와 data.target 만 스트리밍 파서로 읽어 내는 헬퍼입니다.
+ * SDP/ICE 릴레이는 이 두 값만 있으면 원본 페이로드를 그대로 전달할 수 있으므로
+ * JsonNode 트리 생성, Map 변환, 재직렬화를 모두 생략합니다.
+ *
+ * @param event  최상위 event 값 (없으면 null)
+ * @param target data.target 값 (없으면 null)
+ */
+public record SignalingEnvelope(String event, String target) {
+
+    /**
+     * 릴레이 대상인 시그널링 이벤트인지 여부
+     */
+    public static boolean isSignaling(String event) {
+        return "sdp-offer".equals(event) || "sdp-answer".equals(event) || "ice-candidate".equals(event);
+    }
+
+    /**
+     * event 와 data.target 을 읽습니다. 시그널링 이벤트가 아니라고 판명되면 나머지는 읽지 않고 즉시 반환합니다.
+     *
+     * @param jsonFactory ObjectMapper 의 JsonFactory
+     * @param payload     원본 텍스트 페이로드
+     * @return 추출한 값 (해당 필드가 없으면 null)
+     * @throws IOException JSON 형식이 올바르지 않은 경우
+     */
+    public static SignalingEnvelope peek(JsonFactory jsonFactory, String payload) throws IOException {
+        String event = null;
+        String target = null;
+
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new SignalingEnvelope(null, null);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if ("event".equals(field)) {
+                    event = parser.getValueAsString();
+                    if (!isSignaling(event)) {
+                        break;
+                    }
+                } else if ("data".equals(field) && value == JsonToken.START_OBJECT) {
+                    target = readTarget(parser);
+                } else {
+                    parser.skipChildren();
+                }
+
+                if (event != null && target != null) {
+                    break;
+                }
+            }
+        }
+        return new SignalingEnvelope(event, target);
+    }
+
+    private static String readTarget(JsonParser parser) throws IOException {
+        String target = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("target".equals(field)) {
+                target = parser.getValueAsString();
+            } else {
+                // SDP 본문 같은 큰 값도 문자열 디코딩 없이 건너뜀
+                parser.skipChildren();
+            }
+        }
+        return target;
+    }
+}
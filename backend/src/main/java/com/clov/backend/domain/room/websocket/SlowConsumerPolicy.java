@@ -0,0 +1,22 @@
+package com.clov.backend.domain.room.websocket;
+
+/**
+ * 세션별 송신 큐가 가득 찼을 때 적용할 정책입니다.
+ */
+public enum SlowConsumerPolicy {
+
+    /**
+     * 가장 오래된 상태(state-updated) 프레임을 버리고 새 프레임을 넣습니다.
+     * 상태 프레임은 델타이므로 버려진 필드 변경은 그 참가자가 다시 상태를 보내 키프레임이 나갈 때까지 전달되지 않습니다.
+     */
+    DROP_OLDEST_STATE,
+
+    /**
+     * 대기 중인 상태 프레임들의 필드 변경을 병합하여 하나의 프레임으로 합칩니다. (같은 참가자는 최신 값이 이김)
+     * 어떤 변경도 버리지 않으며, 병합할 상태 프레임이 없으면(큐가 제어 이벤트로 가득 참) 세션을 종료합니다.
+     */
+    COALESCE,
+
+    /** 세션을 즉시 종료합니다. */
+    CLOSE
+}
@@ -0,0 +1,108 @@
+package com.clov.backend.domain.room.websocket;
+
+import com.clov.backend.domain.canvas.dto.CanvasStateDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 참가자별로 마지막에 브로드캐스트한 상태를 기억하여, 변경된 필드만 담은 델타를 만들어 주는 클래스입니다.
+ * 일정 주기(keyframe-ms)마다, 또는 기준 상태가 없을 때는 모든 필드를 담은 키프레임을 만듭니다.
+ * 모든 노드가 같은 이벤트 순서를 보고 각자 자기 세션에게 브로드캐스트하므로 기준 상태는 노드 로컬로 유지합니다.
+ */
+@Component
+public class StateDeltaTracker {
+
+    // roomCode → (clientId → 마지막 브로드캐스트 기준)
+    private final Map<String, Map<String, Baseline>> baselines = new ConcurrentHashMap<>();
+
+    private final long keyframeIntervalMillis;
+
+    public StateDeltaTracker(@Value("${websocket.delta.keyframe-ms:2000}") long keyframeIntervalMillis) {
+        this.keyframeIntervalMillis = keyframeIntervalMillis;
+    }
+
+    /**
+     * 새 상태와 마지막 브로드캐스트 상태를 비교하여 전송할 필드를 계산하고 기준 상태를 갱신합니다.
+     * @param roomCode 방 코드
+     * @param clientId 참가자 ID
+     * @param state 새 상태
+     * @return 변경 필드(키프레임이면 전체 필드). 변경이 없으면 fields가 비어 있음
+     */
+    public Delta diff(String roomCode, String clientId, CanvasStateDto state) {
+        Map<String, Object> current = fieldsOf(state);
+        long now = System.currentTimeMillis();
+        Map<String, Baseline> room = baselines.computeIfAbsent(roomCode, k -> new ConcurrentHashMap<>());
+
+        Delta[] result = new Delta[1];
+        room.compute(clientId, (id, previous) -> {
+            if (previous == null || now - previous.keyframeAt() >= keyframeIntervalMillis) {
+                result[0] = new Delta(current, true);
+                return new Baseline(current, now);
+            }
+            Map<String, Object> changed = new LinkedHashMap<>();
+            current.forEach((field, value) -> {
+                if (!Objects.equals(previous.fields().get(field), value)) {
+                    changed.put(field, value);
+                }
+            });
+            result[0] = new Delta(changed, false);
+            return new Baseline(current, previous.keyframeAt());
+        });
+        return result[0];
+    }
+
+    /**
+     * 참가자가 방을 나가면 기준 상태를 제거합니다.
+     */
+    public void forgetParticipant(String roomCode, String clientId) {
+        Map<String, Baseline> room = baselines.get(roomCode);
+        if (room != null) {
+            room.remove(clientId);
+        }
+    }
+
+    /**
+     * 방의 모든 기준 상태를 제거합니다. 다음 브로드캐스트는 모두 키프레임이 됩니다.
+     * (새 참가자 입장 시 기존 참가자들의 전체 상태를 다시 보내기 위해서도 사용)
+     */
+    public void forgetRoom(String roomCode) {
+        baselines.remove(roomCode);
+    }
+
+    /**
+     * 브로드캐스트 대상 필드를 추출합니다. null 값도 "해제됨"을 전달하기 위해 포함합니다.
+     */
+    private static Map<String, Object> fieldsOf(CanvasStateDto state) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("x", state.getX());
+        fields.put("y", state.getY());
+        fields.put("scale", state.getScale());
+        fields.put("opacity", state.getOpacity());
+        fields.put("mode", state.getMode());
+        fields.put("filter", state.getFilter());
+        fields.put("rotation", state.getRotation());
+        fields.put("isMicOn", state.getIsMicOn());
+        fields.put("overlay", state.getOverlay());
+        return fields;
+    }
+
+    private record Baseline(Map<String, Object> fields, long keyframeAt) {
+    }
+
+    /**
+     * @param fields 전송할 필드 (키프레임이면 전체)
+     * @param keyframe 전체 상태 여부
+     */
+    public record Delta(Map<String, Object> fields, boolean keyframe) {
+
+        public boolean isEmpty() {
+            return fields.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.clov.backend.domain.room.websocket;
+
+import com.clov.backend.domain.canvas.dto.CanvasStateDto;
+
+import java.util.*;
+
+/**
+ * 상태 프레임(state-updated / states-updated)의 내용입니다. 참가자별로 전송할 델타 필드와 최신 전체 상태를 담습니다.
+ * 프레임이 인코딩된 메시지와 함께 이 내용을 보관하므로, 느린 세션 큐에서 프레임을 합칠 때 필드를 병합해 다시 인코딩할 수 있습니다.
+ * 델타는 이전 브로드캐스트에 대한 변경분이라 프레임을 그냥 교체하거나 버리면 그 변경이 클라이언트에 전달되지 않기 때문입니다.
+ *
+ * @param roomCode 방 코드
+ * @param entries clientId → 참가자 변경분 (순서 유지)
+ * @param batch states-updated 배치 형식으로 보낼지 여부
+ */
+public record StatePatch(String roomCode, Map<String, Entry> entries, boolean batch) {
+
+    /**
+     * @param fields 변경된 필드 (키프레임이면 전체 필드, 해제된 필드는 null 값)
+     * @param keyframe 전체 필드를 담은 키프레임인지 여부
+     * @param state 최신 전체 상태 (바이너리 프레임용)
+     */
+    public record Entry(Map<String, Object> fields, boolean keyframe, CanvasStateDto state) {
+    }
+
+    /**
+     * 참가자 한 명의 state-updated 내용을 만듭니다.
+     */
+    public static StatePatch single(String roomCode, String clientId, Map<String, Object> fields,
+                                    boolean keyframe, CanvasStateDto state) {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        entries.put(clientId, new Entry(fields, keyframe, state));
+        return new StatePatch(roomCode, entries, false);
+    }
+
+    /**
+     * 이 패치 뒤에 도착한 newer를 합친 패치를 반환합니다.
+     * 같은 참가자의 필드는 새 값이 이기고 나머지 필드는 유지되며, 어느 한쪽이라도 키프레임이면 키프레임입니다.
+     */
+    public StatePatch merge(StatePatch newer) {
+        Map<String, Entry> merged = new LinkedHashMap<>(entries);
+        newer.entries.forEach((clientId, entry) -> merged.merge(clientId, entry, (older, latest) -> {
+            Map<String, Object> fields = new LinkedHashMap<>(older.fields());
+            fields.putAll(latest.fields());
+            return new Entry(fields, older.keyframe() || latest.keyframe(), latest.state());
+        }));
+        return new StatePatch(roomCode, merged, batch || newer.batch || merged.size() > 1);
+    }
+
+    /**
+     * 상태의 주인인 참가자 ID 목록 (합치기 기준)
+     */
+    public Set<String> clientIds() {
+        return entries.keySet();
+    }
+
+    /**
+     * JSON 클라이언트에게 보낼 메시지를 만듭니다.
+     */
+    public Map<String, Object> toPayload() {
+        if (!batch) {
+            Map.Entry<String, Entry> only = entries.entrySet().iterator().next();
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("event", "state-updated");
+            payload.put("data", entryPayload(only.getKey(), only.getValue()));
+            return payload;
+        }
+
+        List<Map<String, Object>> states = new ArrayList<>(entries.size());
+        entries.forEach((clientId, entry) -> states.add(entryPayload(clientId, entry)));
+        return Map.of(
+                "event", "states-updated",
+                "data", Map.of(
+                        "roomCode", roomCode,
+                        "states", states
+                )
+        );
+    }
+
+    /**
+     * 바이너리 서브 프로토콜 클라이언트에게 보낼 프레임을 만듭니다. (참가자별 전체 상태)
+     */
+    public byte[] toBinary() {
+        if (!batch) {
+            Map.Entry<String, Entry> only = entries.entrySet().iterator().next();
+            return BinaryStateProtocol.encodeStateUpdated(UUID.fromString(only.getKey()), only.getValue().state());
+        }
+        Map<String, CanvasStateDto> states = new LinkedHashMap<>();
+        entries.forEach((clientId, entry) -> states.put(clientId, entry.state()));
+        return BinaryStateProtocol.encodeStatesUpdated(states);
+    }
+
+    // 닉네임/방장 여부는 user-joined, host-changed, canvas-sync로 전달되므로 이동 메시지에는 포함하지 않음
+    private static Map<String, Object> entryPayload(String clientId, Entry entry) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("clientId", clientId);
+        data.put("state", entry.fields());
+        data.put("keyframe", entry.keyframe());
+        return data;
+    }
+}
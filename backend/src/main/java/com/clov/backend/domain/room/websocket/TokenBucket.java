@@ -0,0 +1,52 @@
+package com.clov.backend.domain.room.websocket;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없이 동작하는 토큰 버킷입니다.
+ * 토큰 수 대신 "이론상 다음 도착 시각(TAT)" 하나만 AtomicLong으로 유지하는 GCRA 방식이라
+ * 보충 시각과 잔여 토큰을 따로 맞출 필요 없이 CAS 한 번으로 판정합니다.
+ */
+public class TokenBucket {
+
+    /** 토큰 하나가 보충되는 간격 (나노초) */
+    private final long emissionIntervalNanos;
+    /** 버스트 허용량만큼 앞당겨 받을 수 있는 최대 시간 (나노초) */
+    private final long capacityNanos;
+
+    private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param ratePerSecond 초당 보충 토큰 수
+     * @param burst 최대 버스트 (버킷 크기)
+     */
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("ratePerSecond와 burst는 양수여야 합니다.");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.capacityNanos = emissionIntervalNanos * burst;
+    }
+
+    /**
+     * 토큰 하나를 소비합니다.
+     * @return 예산 안이면 true, 초과면 false
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            if (next - nowNanos > capacityNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return true;
+            }
+        }
+    }
+}
@@ -10,10 +10,12 @@ import org.springframework.web.socket.config.annotation.*;
 public class WebSocketConfig implements WebSocketConfigurer {
 
     private final RoomStateWebSocketHandler roomStateWebSocketHandler;
+    private final RoomHandshakeInterceptor roomHandshakeInterceptor;
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         registry.addHandler(roomStateWebSocketHandler, "/ws")
+                .addInterceptors(roomHandshakeInterceptor)
                 .setAllowedOrigins("https://clov.co.kr","https://dev.clov.co.kr","http://localhost:5173");
     }
 }
\ No newline at end of file
@@ -31,6 +31,28 @@ public class WebSocketMessageSender {
         }
     }
 
+    /**
+     * 이미 UTF-8 JSON으로 인코딩된 메시지를 재직렬화 없이 그대로 브로드캐스트합니다.
+     * Redis 등에서 받은 바이트를 릴레이할 때 사용하며, 프레임은 한 번만 만들어 모든 세션이 공유합니다.
+     * @param roomCode 방 코드
+     * @param utf8Json 인코딩된 JSON 바이트
+     */
+    public void broadcastEncoded(String roomCode, byte[] utf8Json) {
+        sessionManager.broadcastFrame(roomCode, OutboundFrame.encoded(utf8Json));
+    }
+
+    /**
+     * state-updated / states-updated 이벤트를 JSON/바이너리 두 가지 형태로 한 번씩만 인코딩하여 브로드캐스트합니다.
+     * @param patch 참가자별 변경 필드와 최신 상태
+     */
+    public void broadcastStateToRoom(StatePatch patch) {
+        try {
+            sessionManager.broadcastFrame(patch.roomCode(), OutboundFrame.state(patch, objectMapper));
+        } catch (Exception e) {
+            //log.error("[WebSocketMessageSender] 상태 메시지 직렬화 실패", e);
+        }
+    }
+
     /**
      * 주어진 roomCode에 WebSocket 구독자가 존재하는지 여부를 반환합니다.
      * @param roomCode 방 코드
@@ -56,4 +78,13 @@ public class WebSocketMessageSender {
         }
     }
 
+    /**
+     * 이미 UTF-8 JSON으로 인코딩된 메시지를 특정 clientId 한 명에게 그대로 전송합니다.
+     * @param clientId 대상 클라이언트 ID(UUID 문자열)
+     * @param utf8Json 인코딩된 JSON 바이트
+     */
+    public void sendEncodedToClient(String clientId, byte[] utf8Json) {
+        sessionManager.sendFrameToClient(clientId, OutboundFrame.encoded(utf8Json));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.clov.backend.domain.room.websocket;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * WebSocket 세션 송신 큐를 비우는 전용 Executor 설정입니다.
+ * 브로드캐스트 호출 스레드(redis-listener 등)와 실제 소켓 쓰기를 분리합니다.
+ */
+@Configuration
+public class WebSocketOutboundConfig {
+
+    /**
+     * 세션별 송신 큐 drain 작업용 Executor
+     * spring.threads.virtual.enabled=true 이면 drain 작업마다 가상 스레드를 사용하여,
+     * 느린 소켓 쓰기가 고정 크기 풀의 스레드를 붙잡지 않도록 합니다.
+     */
+    @Bean
+    public TaskExecutor websocketSendExecutor(
+            @Value("${websocket.outbound.send-threads:16}") int sendThreads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ws-send-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(sendThreads);
+        executor.setMaxPoolSize(sendThreads);
+        executor.setThreadNamePrefix("ws-send-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,15 +1,22 @@
 package com.clov.backend.domain.room.websocket;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
-import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * 방별로 WebSocketSession을 관리하고 브로드캐스트 및 단일 전송을 처리하는 유틸리티 클래스입니다.
+ * 모든 전송은 세션별 {@link OutboundSessionQueue}에 적재되고 송신 전용 스레드에서 비동기로 처리됩니다.
  */
 @Slf4j
 @Component
@@ -21,32 +28,113 @@ public class WebSocketSessionManager {
     // clientId → WebSocketSession 매핑
     private final Map<String, WebSocketSession> clientSessionMap = new ConcurrentHashMap<>();
 
+    // sessionId → (roomCode, clientId, 송신 큐) 역방향 인덱스. 등록/제거를 O(1)로 처리하기 위함
+    private final Map<String, SessionEntry> sessionEntries = new ConcurrentHashMap<>();
+
+    // 방의 첫 세션 등록 / 마지막 세션 제거 통지 대상 (Redis 방 채널 구독 관리 등)
+    private final List<RoomPresenceListener> presenceListeners = new CopyOnWriteArrayList<>();
+
+    private final TaskExecutor websocketSendExecutor;
+    private final OutboundSessionQueue.Metrics outboundMetrics;
+    private final int queueCapacity;
+    private final SlowConsumerPolicy slowConsumerPolicy;
+
+    public WebSocketSessionManager(TaskExecutor websocketSendExecutor,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${websocket.outbound.queue-capacity:256}") int queueCapacity,
+                                   @Value("${websocket.outbound.slow-consumer-policy:COALESCE}") SlowConsumerPolicy slowConsumerPolicy) {
+        this.websocketSendExecutor = websocketSendExecutor;
+        this.queueCapacity = queueCapacity;
+        this.slowConsumerPolicy = slowConsumerPolicy;
+        this.outboundMetrics = new OutboundSessionQueue.Metrics(
+                DistributionSummary.builder("websocket.outbound.queue.depth")
+                        .description("세션 송신 큐 적재 시점의 대기 프레임 수")
+                        .register(meterRegistry),
+                Timer.builder("websocket.outbound.send.time")
+                        .description("세션별 sendMessage 소요 시간")
+                        .register(meterRegistry),
+                Counter.builder("websocket.outbound.dropped")
+                        .description("큐 초과로 버려진 상태 프레임 수")
+                        .register(meterRegistry),
+                Counter.builder("websocket.outbound.coalesced")
+                        .description("큐 초과로 합쳐진 상태 프레임 수")
+                        .register(meterRegistry),
+                Counter.builder("websocket.outbound.closed")
+                        .description("느린 소비자로 판단되어 종료된 세션 수")
+                        .register(meterRegistry)
+        );
+    }
+
     /**
-     * 새로운 세션을 등록합니다. roomCode와 clientId를 URI 쿼리에서 추출하여 저장합니다.
+     * 새로운 세션을 등록합니다. roomCode와 clientId는 핸드셰이크 시 저장된 세션 attribute에서 가져옵니다.
      * @param session WebSocket 세션
      */
     public void registerSession(WebSocketSession session) {
         String roomCode = getRoomCodeFromSession(session);
         String clientId = getClientIdFromSession(session);
 
-        roomSessions.computeIfAbsent(roomCode, k -> ConcurrentHashMap.newKeySet()).add(session);
+        OutboundSessionQueue queue = new OutboundSessionQueue(
+                session, queueCapacity, slowConsumerPolicy, websocketSendExecutor, outboundMetrics);
+        sessionEntries.put(session.getId(), new SessionEntry(roomCode, clientId, queue));
+        boolean[] firstInRoom = {false};
+        roomSessions.compute(roomCode, (k, sessions) -> {
+            firstInRoom[0] = sessions == null;
+            Set<WebSocketSession> set = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            set.add(session);
+            return set;
+        });
         clientSessionMap.put(clientId, session);
+        if (firstInRoom[0]) {
+            notifyPresence(roomCode, true);
+        }
 
         //log.info("[SessionManager] 세션 등록: sessionId={}, roomCode={}, clientId={}", session.getId(), roomCode, clientId);
     }
 
     /**
      * 세션을 제거하고 관련된 clientId 매핑도 제거합니다.
+     * 역방향 인덱스로 해당 방/참가자 항목만 제거하므로 전체 세션 수와 무관하게 O(1)입니다.
      * @param session 제거할 세션
+     * @return 등록된 세션을 제거했으면 true, 이미 제거된 세션이면 false
      */
-    public void removeSession(WebSocketSession session) {
-        roomSessions.forEach((roomCode, sessions) -> {
-            if (sessions.remove(session)) {
-                //log.info("[SessionManager] 세션 제거: {} → roomCode={}", session.getId(), roomCode);
-            }
+    public boolean removeSession(WebSocketSession session) {
+        SessionEntry entry = sessionEntries.remove(session.getId());
+        if (entry == null) {
+            return false;
+        }
+
+        // 마지막 세션이 나가면 방 항목도 제거
+        boolean[] lastInRoom = {false};
+        roomSessions.computeIfPresent(entry.roomCode(), (k, sessions) -> {
+            sessions.remove(session);
+            lastInRoom[0] = sessions.isEmpty();
+            return sessions.isEmpty() ? null : sessions;
         });
+        // 같은 clientId로 재접속한 새 세션의 매핑은 유지
+        clientSessionMap.remove(entry.clientId(), session);
+        entry.queue().close();
+        if (lastInRoom[0]) {
+            notifyPresence(entry.roomCode(), false);
+        }
+        //log.info("[SessionManager] 세션 제거: {} → roomCode={}", session.getId(), entry.roomCode());
+        return true;
+    }
+
+    /**
+     * 방의 첫 세션 등록 / 마지막 세션 제거 통지를 받을 리스너를 추가합니다.
+     */
+    public void addPresenceListener(RoomPresenceListener listener) {
+        presenceListeners.add(listener);
+    }
 
-        clientSessionMap.entrySet().removeIf(entry -> entry.getValue().equals(session));
+    private void notifyPresence(String roomCode, boolean hasLocalSessions) {
+        for (RoomPresenceListener listener : presenceListeners) {
+            try {
+                listener.onRoomPresenceChanged(roomCode, hasLocalSessions);
+            } catch (Exception e) {
+                //log.warn("[SessionManager] 방 세션 변경 통지 실패: roomCode={}", roomCode, e);
+            }
+        }
     }
 
     /**
@@ -55,18 +143,18 @@ public class WebSocketSessionManager {
      * @param message 전송할 메시지
      */
     public void broadcast(String roomCode, String message) {
-        Set<WebSocketSession> sessions = roomSessions.get(roomCode);
-        if (sessions != null) {
-            for (WebSocketSession session : sessions) {
-                if (session.isOpen()) {
-                    try {
-                        session.sendMessage(new TextMessage(message));
-                    } catch (Exception e) {
-                        //log.warn("[SessionManager] 메시지 전송 실패: {}", session.getId(), e);
-                    }
-                }
-            }
-        }
+        enqueueToRoom(roomCode, OutboundFrame.control(message));
+    }
+
+    /**
+     * 미리 인코딩된 프레임 하나를 방의 모든 세션에 공유하여 브로드캐스트합니다.
+     * 상태 프레임({@link OutboundFrame#state})은 세션이 협상한 서브 프로토콜에 맞춰 바이너리 / JSON 메시지로 전송되며,
+     * 느린 세션의 큐에서는 같은 참가자의 프레임끼리 필드가 병합됩니다.
+     * @param roomCode 방 코드
+     * @param frame 전송할 프레임
+     */
+    public void broadcastFrame(String roomCode, OutboundFrame frame) {
+        enqueueToRoom(roomCode, frame);
     }
 
     /**
@@ -75,44 +163,93 @@ public class WebSocketSessionManager {
      * @param message JSON 문자열 메시지
      */
     public void sendToClient(String targetClientId, String message) {
+        sendFrameToClient(targetClientId, OutboundFrame.control(message));
+    }
+
+    /**
+     * 특정 clientId에 해당하는 세션으로 미리 인코딩된 프레임을 전송합니다.
+     * @param targetClientId 메시지를 보낼 대상 clientId
+     * @param frame 전송할 프레임
+     */
+    public void sendFrameToClient(String targetClientId, OutboundFrame frame) {
         WebSocketSession session = clientSessionMap.get(targetClientId);
         if (session != null && session.isOpen()) {
-            try {
-                session.sendMessage(new TextMessage(message));
-            } catch (Exception e) {
-                //log.warn("[SessionManager] sendToClient 전송 실패: {}", targetClientId, e);
-            }
+            enqueue(session, frame);
         } else {
             //log.warn("[SessionManager] 세션이 존재하지 않거나 닫힘: {}", targetClientId);
         }
     }
 
     /**
-     * URI 쿼리에서 roomCode를 추출합니다.
+     * 세션의 현재 송신 큐 깊이를 반환합니다. (등록되지 않은 세션은 0)
      */
-    public String getRoomCodeFromSession(WebSocketSession session) {
-        String uri = Objects.requireNonNull(session.getUri()).toString();
-        String[] parts = uri.split("[?&]");
-        for (String part : parts) {
-            if (part.startsWith("roomCode=")) {
-                return part.substring("roomCode=".length());
+    public int getQueueDepth(WebSocketSession session) {
+        SessionEntry entry = sessionEntries.get(session.getId());
+        return entry != null ? entry.queue().getQueueDepth() : 0;
+    }
+
+    /**
+     * 세션의 송신 큐를 반환합니다. (송신 시간 등 세션별 지표 조회용)
+     */
+    public Optional<OutboundSessionQueue> getOutboundQueue(WebSocketSession session) {
+        return Optional.ofNullable(sessionEntries.get(session.getId())).map(SessionEntry::queue);
+    }
+
+    private void enqueueToRoom(String roomCode, OutboundFrame frame) {
+        Set<WebSocketSession> sessions = roomSessions.get(roomCode);
+        if (sessions != null) {
+            for (WebSocketSession session : sessions) {
+                if (session.isOpen()) {
+                    enqueue(session, frame);
+                }
             }
         }
-        throw new IllegalArgumentException("roomCode가 URI에 포함되어야 합니다.");
+    }
+
+    private void enqueue(WebSocketSession session, OutboundFrame frame) {
+        SessionEntry entry = sessionEntries.get(session.getId());
+        if (entry != null) {
+            entry.queue().offer(frame);
+        }
+    }
+
+    /**
+     * 세션의 roomCode를 반환합니다. ({@link RoomHandshakeInterceptor}가 저장한 attribute)
+     */
+    public String getRoomCodeFromSession(WebSocketSession session) {
+        return getIdentity(session, RoomHandshakeInterceptor.ATTR_ROOM_CODE);
     }
 
     /**
-     * URI 쿼리에서 clientId를 추출합니다.
+     * 세션의 clientId를 반환합니다. ({@link RoomHandshakeInterceptor}가 저장한 attribute)
      */
     public String getClientIdFromSession(WebSocketSession session) {
+        return getIdentity(session, RoomHandshakeInterceptor.ATTR_CLIENT_ID);
+    }
+
+    private String getIdentity(WebSocketSession session, String name) {
+        Object value = session.getAttributes().get(name);
+        if (value != null) {
+            return value.toString();
+        }
+
+        // 인터셉터를 거치지 않은 세션은 URI 쿼리에서 추출
         String uri = Objects.requireNonNull(session.getUri()).toString();
         String[] parts = uri.split("[?&]");
         for (String part : parts) {
-            if (part.startsWith("clientId=")) {
-                return part.substring("clientId=".length());
+            if (part.startsWith(name + "=")) {
+                return part.substring(name.length() + 1);
             }
         }
-        throw new IllegalArgumentException("clientId가 URI에 포함되어야 합니다.");
+        throw new IllegalArgumentException(name + "가 URI에 포함되어야 합니다.");
+    }
+
+    /**
+     * 해당 clientId의 세션이 이 노드에 열려 있는지 확인합니다.
+     */
+    public boolean hasClient(String clientId) {
+        WebSocketSession session = clientSessionMap.get(clientId);
+        return session != null && session.isOpen();
     }
 
     /**
@@ -124,4 +261,21 @@ public class WebSocketSessionManager {
         var sessions = roomSessions.get(roomCode);
         return sessions != null && !sessions.isEmpty();
     }
+
+    /**
+     * 이 노드에 세션이 하나 이상 연결된 방 수
+     */
+    public int getLocalRoomCount() {
+        return roomSessions.size();
+    }
+
+    /**
+     * 이 노드에 등록된 세션 수
+     */
+    public int getLocalSessionCount() {
+        return sessionEntries.size();
+    }
+
+    private record SessionEntry(String roomCode, String clientId, OutboundSessionQueue queue) {
+    }
 }
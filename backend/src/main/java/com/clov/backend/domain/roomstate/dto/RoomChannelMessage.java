@@ -0,0 +1,19 @@
+package com.clov.backend.domain.roomstate.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Redis Pub/Sub 방 채널(room:{roomCode})로 오가는 메시지 형식입니다.
+ * {"event": ..., "data": {...}} 구조를 그대로 타입으로 표현하여, 수신 측이 Map 대신 바로 RoomMessageDto로 디코딩합니다.
+ *
+ * @param event  이벤트 유형 (join-room, update-states 등)
+ * @param data   이벤트 데이터
+ * @param origin 발행 노드 ID (상태 저장 담당 노드 판별 및 자기 메시지 중복 제거용, 이전 버전 노드가 보낸 메시지는 null)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RoomChannelMessage(String event, RoomMessageDto data, String origin) {
+
+    public RoomChannelMessage(String event, RoomMessageDto data) {
+        this(event, data, null);
+    }
+}
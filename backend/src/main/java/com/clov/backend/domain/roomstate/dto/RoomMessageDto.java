@@ -4,6 +4,7 @@ import com.clov.backend.domain.canvas.dto.CanvasStateDto;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -43,6 +44,11 @@ public class RoomMessageDto {
      */
     private CanvasStateDto state;
 
+    /**
+     * 프레임 윈도우 동안 모인 참가자별 최신 상태 clientId → state (update-states 이벤트에 사용)
+     */
+    private Map<String, CanvasStateDto> states;
+
     /**
      * 녹화 여부 플래그 (start-recording 이벤트에 사용)
      */
@@ -0,0 +1,125 @@
+package com.clov.backend.common.metrics;
+
+import com.clov.backend.common.redis.repository.ClusterMetricsRepository;
+import com.clov.backend.common.redis.repository.RedisRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@DisplayName("클러스터 방 메트릭 준비 테스트")
+class RoomMetricsRestorerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RedisRepository redisRepository;
+    private ClusterMetricsRepository clusterMetricsRepository;
+    private RealTimeWebRTCMetrics realTimeMetrics;
+    private RoomMetricsRestorer restorer;
+
+    @BeforeEach
+    void setUp() {
+        redisRepository = mock(RedisRepository.class);
+        clusterMetricsRepository = mock(ClusterMetricsRepository.class);
+        realTimeMetrics = new RealTimeWebRTCMetrics(meterRegistry, clusterMetricsRepository);
+        restorer = new RoomMetricsRestorer(redisRepository, clusterMetricsRepository, realTimeMetrics,
+                new RoomDistributionMetrics(meterRegistry, clusterMetricsRepository), meterRegistry, 2);
+
+        // 색인에 세 방이 있고 그중 ROOM03은 TTL이 지난 상태
+        doAnswer(invocation -> {
+            Consumer<List<String>> consumer = invocation.getArgument(1);
+            consumer.accept(List.of("ROOM01", "ROOM02"));
+            consumer.accept(List.of("ROOM03"));
+            return null;
+        }).when(redisRepository).forEachActiveRoomBatch(anyInt(), any());
+        when(redisRepository.countLiveParticipants(List.of("ROOM01", "ROOM02"))).thenReturn(Map.of("ROOM01", 2, "ROOM02", 3));
+        when(redisRepository.countLiveParticipants(List.of("ROOM03"))).thenReturn(Map.of());
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    @Test
+    @DisplayName("카운터가 시드되지 않았으면 색인에서 계산해 시드하고, 준비 후 클러스터 값을 보고한다")
+    @SuppressWarnings("unchecked")
+    void seedsFromIndexWhenAbsent() {
+        when(clusterMetricsRepository.isSeeded()).thenReturn(false);
+        when(clusterMetricsRepository.counts()).thenReturn(Map.of("rooms", 2L, "clients", 5L, "online", 5L,
+                "participants:3", 1L));
+
+        assertThat(gauge("webrtc.rooms.active")).isNaN();
+        assertThat(gauge("webrtc.metrics.warming")).isEqualTo(1);
+
+        restorer.restore();
+
+        ArgumentCaptor<Map<String, Long>> seed = ArgumentCaptor.forClass(Map.class);
+        verify(clusterMetricsRepository).seedIfAbsent(seed.capture());
+        assertThat(seed.getValue())
+                .containsEntry("rooms", 2L)
+                .containsEntry("clients", 5L)
+                .containsEntry("participants:2", 1L)
+                .containsEntry("participants:3", 1L)
+                .containsEntry("participants:6+", 0L);
+
+        assertThat(gauge("webrtc.metrics.warming")).isEqualTo(0);
+        assertThat(gauge("webrtc.rooms.active")).isEqualTo(2);
+        assertThat(gauge("webrtc.clients.total")).isEqualTo(5);
+        assertThat(meterRegistry.get("webrtc.rooms.by_participants").tag("participant_count", "3").gauge().value())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("이미 시드된 카운터는 재기동 시 덮어쓰지 않고 색인도 읽지 않는다")
+    void keepsSeededCountersOnRestart() {
+        when(clusterMetricsRepository.isSeeded()).thenReturn(true);
+        when(clusterMetricsRepository.counts()).thenReturn(Map.of("rooms", 7L));
+
+        restorer.restore();
+
+        verify(redisRepository, never()).forEachActiveRoomBatch(anyInt(), any());
+        verify(clusterMetricsRepository, never()).seedIfAbsent(any());
+        assertThat(gauge("webrtc.rooms.active")).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("시드에 실패해도 워밍 상태는 끝난다")
+    void endsWarmingOnFailure() {
+        when(clusterMetricsRepository.isSeeded()).thenReturn(false);
+        when(clusterMetricsRepository.counts()).thenReturn(Map.of());
+        doThrow(new IllegalStateException("redis down")).when(redisRepository).forEachActiveRoomBatch(anyInt(), any());
+
+        restorer.restore();
+
+        assertThat(realTimeMetrics.isWarming()).isFalse();
+        assertThat(gauge("webrtc.rooms.active")).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("방 폐쇄는 방과 남은 참가자를 한 번의 증감으로 반영하고, 반환된 클러스터 값을 보고한다")
+    @SuppressWarnings("unchecked")
+    void roomCloseAppliesOneAtomicIncrement() {
+        when(clusterMetricsRepository.counts()).thenReturn(Map.of());
+        when(clusterMetricsRepository.increment(any())).thenReturn(Map.of("rooms", 4L, "clients", 10L, "online", 9L));
+        realTimeMetrics.endWarming();
+
+        realTimeMetrics.onRoomClosed("ROOM01", 3);
+
+        ArgumentCaptor<LinkedHashMap<String, Long>> deltas = ArgumentCaptor.forClass(LinkedHashMap.class);
+        verify(clusterMetricsRepository).increment(deltas.capture());
+        assertThat(deltas.getValue()).containsExactly(Map.entry("rooms", -1L), Map.entry("clients", -3L), Map.entry("online", -3L));
+        assertThat(gauge("webrtc.rooms.active")).isEqualTo(4);
+        assertThat(gauge("webrtc.users.online")).isEqualTo(9);
+    }
+}
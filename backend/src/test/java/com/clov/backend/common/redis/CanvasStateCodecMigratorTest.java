@@ -0,0 +1,67 @@
+package com.clov.backend.common.redis;
+
+import com.clov.backend.common.redis.repository.RedisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@DisplayName("캔버스 상태 형식 변환 테스트")
+class CanvasStateCodecMigratorTest {
+
+    private RedisRepository redisRepository;
+    private CanvasStateCodecMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        redisRepository = mock(RedisRepository.class);
+        migrator = new CanvasStateCodecMigrator(redisRepository, "binary", true, 2);
+
+        doAnswer(invocation -> {
+            Consumer<List<String>> consumer = invocation.getArgument(1);
+            consumer.accept(List.of("ROOM01", "ROOM02"));
+            consumer.accept(List.of("ROOM03"));
+            return null;
+        }).when(redisRepository).forEachActiveRoomBatch(anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("활성 방 색인의 방만 변환하고 완료를 기록하며, 키스페이스 SCAN은 하지 않는다")
+    void migratesActiveRoomsAndMarksDone() {
+        migrator.migrate();
+
+        verify(redisRepository).migrateCanvasStates("ROOM01");
+        verify(redisRepository).migrateCanvasStates("ROOM02");
+        verify(redisRepository).migrateCanvasStates("ROOM03");
+        verify(redisRepository).markMigrationDone(CanvasStateCodecMigrator.MIGRATION);
+        verify(redisRepository, never()).scanRoomCodes();
+    }
+
+    @Test
+    @DisplayName("완료 표시가 있으면 색인을 읽지 않는다")
+    void skipsWhenAlreadyDone() {
+        when(redisRepository.isMigrationDone(CanvasStateCodecMigrator.MIGRATION)).thenReturn(true);
+
+        migrator.migrate();
+
+        verify(redisRepository, never()).forEachActiveRoomBatch(anyInt(), any());
+        verify(redisRepository, never()).markMigrationDone(any());
+    }
+
+    @Test
+    @DisplayName("실패한 방이 있으면 나머지는 변환하되 완료를 기록하지 않는다")
+    void doesNotMarkDoneOnFailure() {
+        when(redisRepository.migrateCanvasStates("ROOM02")).thenThrow(new IllegalStateException("redis down"));
+
+        migrator.migrate();
+
+        verify(redisRepository).migrateCanvasStates("ROOM03");
+        verify(redisRepository, never()).markMigrationDone(any());
+    }
+}
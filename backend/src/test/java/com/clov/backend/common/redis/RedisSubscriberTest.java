@@ -0,0 +1,120 @@
+package com.clov.backend.common.redis;
+
+import com.clov.backend.common.redis.repository.ReactiveRoomRepository;
+import com.clov.backend.common.redis.repository.RedisRepository;
+import com.clov.backend.common.redis.repository.RoomRoster;
+import com.clov.backend.domain.background.repository.BackgroundRepository;
+import com.clov.backend.domain.canvas.dto.CanvasStateDto;
+import com.clov.backend.domain.room.websocket.StateDeltaTracker;
+import com.clov.backend.domain.room.websocket.WebSocketMessageSender;
+import com.clov.backend.domain.roomstate.dto.RoomMessageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("방 채널 메시지 수신 테스트")
+class RedisSubscriberTest {
+
+    private static final String ROOM = "ROOM01";
+
+    private final RoomChannelCodec codec = new RoomChannelCodec(new ObjectMapper());
+    private WebSocketMessageSender messageSender;
+    private ReactiveRoomRepository reactiveRoomRepository;
+    private RoomRosterCache rosterCache;
+    private RedisSubscriber subscriber;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        messageSender = mock(WebSocketMessageSender.class);
+        reactiveRoomRepository = mock(ReactiveRoomRepository.class);
+        when(reactiveRoomRepository.saveCanvasState(anyString(), any(), any())).thenReturn(Mono.empty());
+        when(reactiveRoomRepository.saveCanvasStates(anyString(), any())).thenReturn(Mono.empty());
+        rosterCache = mock(RoomRosterCache.class);
+
+        // 방 메일박스는 작업을 바로 실행
+        RoomEventMailbox mailbox = mock(RoomEventMailbox.class);
+        doAnswer(invocation -> ((Supplier<CompletableFuture<?>>) invocation.getArgument(1)).get())
+                .when(mailbox).submitAsync(anyString(), any());
+
+        SignalingRouter signalingRouter = mock(SignalingRouter.class);
+        when(signalingRouter.getNodeId()).thenReturn("node-a");
+
+        subscriber = new RedisSubscriber(codec, messageSender, mock(RedisRepository.class), reactiveRoomRepository,
+                mock(BackgroundRepository.class), new StateDeltaTracker(2000), mailbox, mock(RoomEventStream.class),
+                signalingRouter, rosterCache);
+        ReflectionTestUtils.setField(subscriber, "localDelivery", true);
+    }
+
+    private void receive(String origin) throws Exception {
+        RoomMessageDto message = RoomMessageDto.builder()
+                .event("update-state")
+                .roomCode(ROOM)
+                .clientId(UUID.randomUUID())
+                .state(CanvasStateDto.builder().x(1).y(2).scale(1.0).opacity(1.0).build())
+                .build();
+        byte[] body = origin != null ? codec.encode(message, origin) : codec.encode(message);
+        subscriber.onMessage(new DefaultMessage(codec.channel(ROOM), body), null);
+    }
+
+    @Test
+    @DisplayName("origin이 없는 이전 버전 노드의 메시지는 버리지 않고 브로드캐스트하며 저장한다")
+    void legacyMessageIsDeliveredAndPersisted() throws Exception {
+        receive(null);
+
+        verify(messageSender).broadcastStateToRoom(any());
+        verify(reactiveRoomRepository).saveCanvasState(eq(ROOM), any(), any());
+    }
+
+    @Test
+    @DisplayName("로컬 전달 중에는 이 노드가 발행한 메시지가 되돌아오면 버린다")
+    void ownEchoIsDropped() throws Exception {
+        receive("node-a");
+
+        verifyNoInteractions(messageSender);
+        verify(reactiveRoomRepository, never()).saveCanvasState(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("다른 노드의 메시지는 브로드캐스트만 하고 저장하지 않는다")
+    void otherNodeMessageIsDeliveredWithoutPersisting() throws Exception {
+        receive("node-b");
+
+        verify(messageSender).broadcastStateToRoom(any());
+        verify(reactiveRoomRepository, never()).saveCanvasState(anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("상태 배치는 명단에 남아 있는 참가자의 상태만 저장한다")
+    @SuppressWarnings("unchecked")
+    void batchSkipsDepartedParticipants() {
+        String member = UUID.randomUUID().toString();
+        String departed = UUID.randomUUID().toString();
+        when(rosterCache.cachedAsync(ROOM)).thenReturn(Mono.just(new RoomRoster(1, Map.of(member, "nick"), member)));
+        CanvasStateDto state = CanvasStateDto.builder().x(1).y(2).scale(1.0).opacity(1.0).build();
+
+        subscriber.deliverLocal(RoomMessageDto.builder()
+                .event("update-states")
+                .roomCode(ROOM)
+                .states(Map.of(member, state, departed, state))
+                .build());
+
+        ArgumentCaptor<Map<String, CanvasStateDto>> saved = ArgumentCaptor.forClass(Map.class);
+        verify(reactiveRoomRepository).saveCanvasStates(eq(ROOM), saved.capture());
+        assertThat(saved.getValue()).containsOnlyKeys(member);
+    }
+}
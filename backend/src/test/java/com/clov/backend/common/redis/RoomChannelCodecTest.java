@@ -0,0 +1,76 @@
+package com.clov.backend.common.redis;
+
+import com.clov.backend.domain.canvas.dto.CanvasStateDto;
+import com.clov.backend.domain.roomstate.dto.RoomChannelMessage;
+import com.clov.backend.domain.roomstate.dto.RoomMessageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("방 채널 코덱 테스트")
+class RoomChannelCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RoomChannelCodec codec = new RoomChannelCodec(objectMapper);
+
+    @Test
+    @DisplayName("한 번 인코딩한 메시지를 타입으로 바로 디코딩한다")
+    void roundTrip() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        RoomMessageDto message = RoomMessageDto.builder()
+                .event("update-states")
+                .roomCode("ROOM01")
+                .clientId(clientId)
+                .states(Map.of(clientId.toString(), CanvasStateDto.builder().x(1).y(2).scale(1.0).opacity(0.5).build()))
+                .build();
+
+        byte[] body = codec.encode(message);
+        assertThat(body[0]).isEqualTo((byte) '{');
+
+        RoomChannelMessage decoded = codec.decode(body);
+        assertThat(decoded.event()).isEqualTo("update-states");
+        assertThat(decoded.data().getClientId()).isEqualTo(clientId);
+        assertThat(decoded.data().getStates().get(clientId.toString()).getOpacity()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("이전 버전 노드가 보낸 이중 인코딩 메시지도 디코딩한다")
+    void decodesLegacyDoubleEncoded() throws Exception {
+        Map<String, Object> data = new HashMap<>();
+        data.put("roomCode", "ROOM01");
+        data.put("from", "a");
+        data.put("to", "b");
+        String json = objectMapper.writeValueAsString(Map.of("event", "assign-host", "data", data));
+        byte[] legacyBody = objectMapper.writeValueAsBytes(json);
+
+        RoomChannelMessage decoded = codec.decode(legacyBody);
+
+        assertThat(decoded.event()).isEqualTo("assign-host");
+        assertThat(decoded.data().getTo()).isEqualTo("b");
+    }
+
+    @Test
+    @DisplayName("발행 노드 ID는 설정한 경우에만 실려 전달된다")
+    void carriesOriginOnlyWhenSet() throws Exception {
+        RoomMessageDto message = RoomMessageDto.builder().event("leave-room").roomCode("ROOM01").build();
+
+        byte[] plain = codec.encode(message);
+        assertThat(new String(plain, StandardCharsets.UTF_8)).doesNotContain("origin");
+        assertThat(codec.decode(plain).origin()).isNull();
+
+        assertThat(codec.decode(codec.encode(message, "node-a")).origin()).isEqualTo("node-a");
+    }
+
+    @Test
+    @DisplayName("채널 이름에서 방 코드를 꺼낸다")
+    void roomCodeFromChannel() {
+        assertThat(codec.roomCodeOf(codec.channel("AB12CD"))).isEqualTo("AB12CD");
+    }
+}
@@ -0,0 +1,75 @@
+package com.clov.backend.common.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("방 메일박스 순차 처리 테스트")
+class RoomEventMailboxTest {
+
+    private final RoomEventMailbox mailbox = new RoomEventMailbox(new SimpleMeterRegistry(), 4, false);
+
+    @AfterEach
+    void tearDown() {
+        mailbox.stop();
+    }
+
+    @Test
+    @DisplayName("같은 방의 이벤트는 도착 순서대로 하나씩 실행된다")
+    void sameRoomRunsSerially() throws Exception {
+        int events = 500;
+        List<Integer> order = new ArrayList<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(events);
+
+        for (int i = 0; i < events; i++) {
+            int seq = i;
+            mailbox.submit("ROOM01", () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                order.add(seq); // 순차 실행이 보장되므로 동기화 없는 리스트 사용
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(order).hasSize(events).isSorted();
+    }
+
+    @Test
+    @DisplayName("비동기 이벤트가 끝나기 전에는 같은 방의 다음 이벤트가 실행되지 않는다")
+    void asyncEventHoldsRoomUntilComplete() throws Exception {
+        CompletableFuture<Void> pendingIo = new CompletableFuture<>();
+        List<String> order = new ArrayList<>();
+        CountDownLatch otherRoom = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        mailbox.submitAsync("ROOM01", () -> pendingIo.thenRun(() -> order.add("join")));
+        mailbox.submit("ROOM01", () -> {
+            order.add("update");
+            done.countDown();
+        });
+        mailbox.submit("ROOM02", otherRoom::countDown);
+
+        // 응답을 기다리는 동안 스레드는 반납되어 다른 방은 처리된다
+        assertThat(otherRoom.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(done.await(200, TimeUnit.MILLISECONDS)).isFalse();
+
+        pendingIo.complete(null);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly("join", "update");
+    }
+}
@@ -0,0 +1,110 @@
+package com.clov.backend.common.redis;
+
+import com.clov.backend.domain.room.websocket.WebSocketSessionManager;
+import com.clov.backend.domain.roomstate.dto.RoomMessageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 로컬 redis-server(localhost:6379)에 대해 실행되며, 서버가 없으면 건너뜁니다.
+ */
+@DisplayName("방 이벤트 스트림 재전송 테스트")
+class RoomEventStreamTest {
+
+    private static final String ROOM = "STREAMTEST";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RoomChannelCodec codec = new RoomChannelCodec(objectMapper);
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private RoomEventStream stream;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        try {
+            redisTemplate.hasKey(ROOM);
+        } catch (Exception e) {
+            assumeTrue(false, "로컬 redis-server가 없어 건너뜀");
+        }
+
+        SignalingRouter signalingRouter = new SignalingRouter(redisTemplate, mock(WebSocketSessionManager.class),
+                objectMapper, "node-test", 60);
+        stream = new RoomEventStream(redisTemplate, connectionFactory, codec, signalingRouter,
+                "stream", 1000, 60, 100, false);
+        stream.start();
+        redisTemplate.delete(stream.key(ROOM));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (stream != null) {
+            stream.stop();
+            redisTemplate.delete(stream.key(ROOM));
+        }
+        connectionFactory.destroy();
+    }
+
+    private byte[] event(String name) throws Exception {
+        return codec.encode(RoomMessageDto.builder().event(name).roomCode(ROOM).clientId(UUID.randomUUID()).build());
+    }
+
+    @Test
+    @DisplayName("lastEventId 이후의 이벤트만 순서대로 읽는다")
+    void readsAfterLastEventId() throws Exception {
+        stream.append(ROOM, event("join-room"));
+        stream.append(ROOM, event("assign-host"));
+        stream.append(ROOM, event("leave-room"));
+        String firstId = redisTemplate.opsForStream().range(stream.key(ROOM), Range.unbounded()).get(0).getId().getValue();
+
+        List<RoomEventStream.Entry> entries = stream.readAfter(ROOM, firstId).orElseThrow();
+
+        assertThat(entries).extracting(e -> e.message().event()).containsExactly("assign-host", "leave-room");
+    }
+
+    @Test
+    @DisplayName("잘려 나간 구간 이후로는 이어받지 않는다")
+    void refusesResumeAcrossGap() throws Exception {
+        stream.append(ROOM, event("join-room"));
+
+        assertThat(stream.readAfter(ROOM, "1-0")).isEmpty();
+        assertThat(stream.readAfter("NOSUCHROOM", "1-0")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("구독 후 추가된 이벤트를 컨슈머 그룹으로 받는다")
+    void deliversToSubscribedNode() throws Exception {
+        stream.append(ROOM, event("join-room"));
+        List<String> received = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        stream.subscribe(ROOM, (id, message) -> {
+            received.add(message.event());
+            latch.countDown();
+        });
+
+        stream.append(ROOM, event("assign-host"));
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactly("assign-host");
+    }
+}
@@ -0,0 +1,82 @@
+package com.clov.backend.common.redis;
+
+import com.clov.backend.common.redis.repository.ReactiveRoomRepository;
+import com.clov.backend.common.redis.repository.RedisRepository;
+import com.clov.backend.common.redis.repository.RoomRoster;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("방 참가자 명단 캐시 테스트")
+class RoomRosterCacheTest {
+
+    private static final String ROOM = "ROOM01";
+    private final UUID host = UUID.randomUUID();
+    private final UUID guest = UUID.randomUUID();
+
+    private RedisRepository redisRepository;
+    private RoomRosterCache cache;
+
+    @BeforeEach
+    void setUp() {
+        redisRepository = mock(RedisRepository.class);
+        cache = new RoomRosterCache(redisRepository, mock(ReactiveRoomRepository.class));
+        when(redisRepository.loadRoster(ROOM)).thenReturn(
+                new RoomRoster(1, Map.of(host.toString(), "방장", guest.toString(), "손님"), host.toString()));
+    }
+
+    @Test
+    @DisplayName("버전이 같으면 명단을 다시 읽지 않는다")
+    void reusesWhileVersionUnchanged() {
+        when(redisRepository.getRosterVersion(ROOM)).thenReturn(1L);
+
+        cache.current(ROOM);
+        RoomRoster roster = cache.current(ROOM);
+
+        assertThat(roster.nickname(guest)).isEqualTo("손님");
+        verify(redisRepository, times(1)).loadRoster(ROOM);
+    }
+
+    @Test
+    @DisplayName("버전이 바뀌면 명단을 다시 읽는다")
+    void reloadsWhenVersionChanges() {
+        cache.current(ROOM);
+        when(redisRepository.getRosterVersion(ROOM)).thenReturn(2L);
+
+        cache.current(ROOM);
+
+        verify(redisRepository, times(2)).loadRoster(ROOM);
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 방장이 바뀌면 버전 확인으로 권한 확인에 반영된다")
+    void hostCheckSeesHostChangedElsewhere() {
+        when(redisRepository.getRosterVersion(ROOM)).thenReturn(1L);
+        assertThat(cache.current(ROOM).isHost(host)).isTrue();
+
+        // 다른 노드가 방장을 바꾸고 명단 버전을 올림 (host-changed 이벤트는 아직 도착 전)
+        when(redisRepository.getRosterVersion(ROOM)).thenReturn(2L);
+        when(redisRepository.loadRoster(ROOM)).thenReturn(
+                new RoomRoster(2, Map.of(host.toString(), "방장", guest.toString(), "손님"), guest.toString()));
+
+        assertThat(cache.current(ROOM).isHost(host)).isFalse();
+        assertThat(cache.current(ROOM).isHost(guest)).isTrue();
+    }
+
+    @Test
+    @DisplayName("host-changed 이벤트로 캐시된 방장이 갱신된다")
+    void changeHostUpdatesCache() {
+        cache.cached(ROOM);
+        cache.changeHost(ROOM, guest.toString());
+
+        assertThat(cache.cached(ROOM).isHost(guest)).isTrue();
+        assertThat(cache.cached(ROOM).isHost(host)).isFalse();
+        verify(redisRepository, times(1)).loadRoster(ROOM);
+    }
+}
@@ -0,0 +1,55 @@
+package com.clov.backend.common.redis;
+
+import com.clov.backend.domain.room.websocket.WebSocketSessionManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("시그널링 라우터 노드 간 전달 테스트")
+class SignalingRouterTest {
+
+    private static final String PAYLOAD = "{\"event\":\"ice-candidate\",\"data\":{\"target\":\"b\"}}";
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOps;
+    private WebSocketSessionManager sessionManager;
+    private SignalingRouter router;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOps = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        sessionManager = mock(WebSocketSessionManager.class);
+        router = new SignalingRouter(redisTemplate, sessionManager, new ObjectMapper(), "node-a", 60);
+    }
+
+    @Test
+    @DisplayName("대상이 로컬 노드에 있으면 Redis를 거치지 않는다")
+    void localShortCircuit() {
+        when(sessionManager.hasClient("b")).thenReturn(true);
+
+        router.route("b", PAYLOAD);
+
+        verify(sessionManager).sendToClient("b", PAYLOAD);
+        verifyNoInteractions(valueOps);
+    }
+
+    @Test
+    @DisplayName("대상이 다른 노드에 있으면 해당 노드 채널로 원본을 발행한다")
+    void forwardsToOwningNode() {
+        when(valueOps.get("signal:client:b")).thenReturn("node-b");
+
+        router.route("b", PAYLOAD);
+
+        verify(redisTemplate).convertAndSend("signal:node-b", PAYLOAD);
+        verify(sessionManager, never()).sendToClient(anyString(), anyString());
+    }
+}
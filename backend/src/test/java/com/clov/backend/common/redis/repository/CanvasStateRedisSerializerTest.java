@@ -0,0 +1,65 @@
+package com.clov.backend.common.redis.repository;
+
+import com.clov.backend.domain.canvas.dto.CanvasStateDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("캔버스 상태 Redis 바이너리 직렬화 테스트")
+class CanvasStateRedisSerializerTest {
+
+    private final CanvasStateRedisSerializer serializer = new CanvasStateRedisSerializer(true);
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+
+    private CanvasStateDto state() {
+        return CanvasStateDto.builder()
+                .x(-1234).y(567).scale(1.25).opacity(0.8)
+                .mode(2).filter("grayscale").rotation(270).isMicOn(false).overlay("heart")
+                .build();
+    }
+
+    @Test
+    @DisplayName("바이너리로 저장한 상태를 그대로 복원하고 JSON보다 작다")
+    void roundTripIsLosslessAndSmaller() {
+        CanvasStateDto state = state();
+
+        byte[] bytes = serializer.serialize(state);
+        CanvasStateDto decoded = (CanvasStateDto) serializer.deserialize(bytes);
+
+        assertThat(bytes[0]).isEqualTo(CanvasStateRedisSerializer.VERSION_1);
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(state);
+        assertThat(bytes.length).isLessThan(json.serialize(state).length / 3);
+    }
+
+    @Test
+    @DisplayName("null 필드는 null 로 복원된다")
+    void keepsNullFields() {
+        CanvasStateDto state = CanvasStateDto.builder().x(10).y(20).build();
+
+        CanvasStateDto decoded = (CanvasStateDto) serializer.deserialize(serializer.serialize(state));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(state);
+    }
+
+    @Test
+    @DisplayName("이전에 JSON으로 저장된 상태와 닉네임도 읽는다")
+    void readsLegacyJson() {
+        CanvasStateDto state = state();
+
+        Object decoded = serializer.deserialize(json.serialize(state));
+
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(state);
+        assertThat(serializer.deserialize(serializer.serialize("방장님"))).isEqualTo("방장님");
+    }
+
+    @Test
+    @DisplayName("json 설정이면 상태를 기존 JSON 형식으로 저장한다")
+    void jsonModeWritesJson() {
+        byte[] bytes = new CanvasStateRedisSerializer(false).serialize(state());
+
+        assertThat(CanvasStateRedisSerializer.isCompact(bytes)).isFalse();
+        assertThat(serializer.deserialize(bytes)).usingRecursiveComparison().isEqualTo(state());
+    }
+}
@@ -75,4 +75,17 @@ class RedisRepositoryTest {
         FullCanvasStateResponse response = redisRepository.getCanvasState(roomCode);
         assertThat(response.getParticipants()).hasSize(2);
     }
+
+    @Test
+    @DisplayName("방 생성 시 활성 방 색인에 추가되고 삭제 시 제거된다")
+    void activeRoomIndexTest() {
+        String indexedRoom = "IDX001";
+        CanvasStateDto.BackgroundDto bgDto = new CanvasStateDto.BackgroundDto("https://example.com/image.png", "테스트배경");
+        redisRepository.batchCreateRoom(indexedRoom, hostId, "방장님", new CanvasStateDto(100, 200, 1.0, 1.0), bgDto, 1800);
+
+        assertThat(redisRepository.getAllRoomCodes()).contains(indexedRoom);
+
+        redisRepository.deleteRoom(indexedRoom);
+        assertThat(redisRepository.getAllRoomCodes()).doesNotContain(indexedRoom);
+    }
 }
@@ -0,0 +1,75 @@
+package com.clov.backend.domain.room.websocket;
+
+import com.clov.backend.domain.canvas.dto.CanvasStateDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("바이너리 상태 서브 프로토콜 코덱 테스트")
+class BinaryStateProtocolTest {
+
+    @Test
+    @DisplayName("update-state 프레임 인코딩 후 디코딩하면 동일한 상태가 복원된다")
+    void updateStateRoundTrip() {
+        CanvasStateDto state = CanvasStateDto.builder()
+                .x(320).y(-40).scale(0.8).opacity(0.5)
+                .mode(2).filter("grayscale").rotation(270)
+                .isMicOn(true).overlay("heart")
+                .build();
+
+        CanvasStateDto decoded = BinaryStateProtocol.decodeUpdateState(
+                ByteBuffer.wrap(BinaryStateProtocol.encodeUpdateState(state)));
+
+        assertThat(decoded.getX()).isEqualTo(320);
+        assertThat(decoded.getY()).isEqualTo(-40);
+        assertThat(decoded.getScale()).isEqualTo(0.8);
+        assertThat(decoded.getOpacity()).isEqualTo(0.5);
+        assertThat(decoded.getMode()).isEqualTo(2);
+        assertThat(decoded.getFilter()).isEqualTo("grayscale");
+        assertThat(decoded.getRotation()).isEqualTo(270);
+        assertThat(decoded.getIsMicOn()).isTrue();
+        assertThat(decoded.getOverlay()).isEqualTo("heart");
+    }
+
+    @Test
+    @DisplayName("선택 필드가 없으면 null / 기본값으로 디코딩된다")
+    void optionalFieldsAbsent() {
+        CanvasStateDto state = CanvasStateDto.builder().x(1).y(2).scale(1.0).opacity(1.0).build();
+
+        CanvasStateDto decoded = BinaryStateProtocol.decodeUpdateState(
+                ByteBuffer.wrap(BinaryStateProtocol.encodeUpdateState(state)));
+
+        assertThat(decoded.getMode()).isNull();
+        assertThat(decoded.getFilter()).isNull();
+        assertThat(decoded.getOverlay()).isNull();
+        assertThat(decoded.getRotation()).isZero();
+        assertThat(decoded.getIsMicOn()).isFalse();
+    }
+
+    @Test
+    @DisplayName("state-updated 프레임은 opcode, 플래그, clientId를 포함한다")
+    void stateUpdatedHeader() {
+        UUID clientId = UUID.randomUUID();
+        CanvasStateDto state = CanvasStateDto.builder().x(10).y(20).scale(1.0).opacity(1.0).build();
+
+        ByteBuffer frame = ByteBuffer.wrap(BinaryStateProtocol.encodeStateUpdated(clientId, state));
+
+        assertThat(frame.get()).isEqualTo(BinaryStateProtocol.OP_STATE_UPDATED);
+        assertThat(frame.get()).isZero();
+        assertThat(new UUID(frame.getLong(), frame.getLong())).isEqualTo(clientId);
+        assertThat(frame.getInt()).isEqualTo(10);
+        assertThat(frame.getInt()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("잘린 프레임은 예외를 던진다")
+    void truncatedFrameRejected() {
+        assertThatThrownBy(() -> BinaryStateProtocol.decodeUpdateState(ByteBuffer.wrap(new byte[]{0x01, 0x00, 0x00})))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
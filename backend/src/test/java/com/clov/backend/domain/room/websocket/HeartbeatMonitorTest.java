@@ -0,0 +1,64 @@
+package com.clov.backend.domain.room.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("타이머 휠 하트비트 테스트")
+class HeartbeatMonitorTest {
+
+    private WebSocketSession session;
+    private HeartbeatMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn("s1");
+
+        WebSocketSessionManager sessionManager = mock(WebSocketSessionManager.class);
+        when(sessionManager.getOutboundQueue(any())).thenReturn(Optional.empty());
+
+        // 종료 작업을 호출 스레드에서 바로 실행
+        ThreadPoolTaskExecutor executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        // 슬롯 1개: tick마다 같은 세션을 확인
+        monitor = new HeartbeatMonitor(sessionManager, executor, new SimpleMeterRegistry(), 100, 100, 2);
+        monitor.register(session);
+    }
+
+    @Test
+    @DisplayName("연속으로 Ping에 응답하지 않으면 세션을 종료한다")
+    void reapsAfterMissedPongs() throws Exception {
+        monitor.tick();
+        monitor.tick();
+        verify(session, never()).close(any());
+
+        monitor.tick();
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    @DisplayName("응답이 오면 미응답 횟수가 초기화된다")
+    void activityResetsMissedCount() throws Exception {
+        monitor.tick();
+        monitor.tick();
+        monitor.onActivity(session);
+        monitor.tick();
+        monitor.tick();
+
+        verify(session, never()).close(any());
+    }
+}
@@ -0,0 +1,188 @@
+package com.clov.backend.domain.room.websocket;
+
+import com.clov.backend.domain.canvas.dto.CanvasStateDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("세션 송신 큐 느린 소비자 정책 테스트")
+class OutboundSessionQueueTest {
+
+    private static final String A = "00000000-0000-0000-0000-00000000000a";
+    private static final String B = "00000000-0000-0000-0000-00000000000b";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private WebSocketSession session;
+    private OutboundSessionQueue.Metrics metrics;
+    private final List<Runnable> pendingDrains = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        when(session.getId()).thenReturn("s1");
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        metrics = new OutboundSessionQueue.Metrics(
+                DistributionSummary.builder("depth").register(registry),
+                Timer.builder("send").register(registry),
+                Counter.builder("dropped").register(registry),
+                Counter.builder("coalesced").register(registry),
+                Counter.builder("closed").register(registry));
+    }
+
+    private OutboundSessionQueue queue(SlowConsumerPolicy policy) {
+        // drain 작업을 즉시 실행하지 않고 보관하여 느린 소비자를 흉내낸다
+        return new OutboundSessionQueue(session, 2, policy, pendingDrains::add, metrics);
+    }
+
+    private OutboundFrame state(String clientId, String field, Object value) throws Exception {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(field, value);
+        CanvasStateDto full = CanvasStateDto.builder().x(0).y(0).scale(1.0).opacity(1.0).build();
+        return OutboundFrame.state(StatePatch.single("ROOM01", clientId, fields, false, full), objectMapper);
+    }
+
+    private OutboundFrame batch(Map<String, Map<String, Object>> changes) throws Exception {
+        CanvasStateDto full = CanvasStateDto.builder().x(0).y(0).scale(1.0).opacity(1.0).build();
+        Map<String, StatePatch.Entry> entries = new LinkedHashMap<>();
+        changes.forEach((clientId, fields) -> entries.put(clientId, new StatePatch.Entry(new LinkedHashMap<>(fields), false, full)));
+        return OutboundFrame.state(new StatePatch("ROOM01", entries, true), objectMapper);
+    }
+
+    /**
+     * 전송된 state-updated / states-updated 메시지를 차례로 적용한 클라이언트 쪽 참가자별 필드
+     */
+    private Map<String, Map<String, Object>> appliedOnClient() throws Exception {
+        ArgumentCaptor<WebSocketMessage<?>> sent = ArgumentCaptor.forClass(WebSocketMessage.class);
+        verify(session, atLeastOnce()).sendMessage(sent.capture());
+
+        Map<String, Map<String, Object>> client = new HashMap<>();
+        for (WebSocketMessage<?> message : sent.getAllValues()) {
+            JsonNode root = objectMapper.readTree(((TextMessage) message).getPayload());
+            if (!root.has("event")) {
+                continue;
+            }
+            List<JsonNode> entries = new ArrayList<>();
+            if ("state-updated".equals(root.get("event").asText())) {
+                entries.add(root.get("data"));
+            } else if ("states-updated".equals(root.get("event").asText())) {
+                root.get("data").get("states").forEach(entries::add);
+            }
+            for (JsonNode entry : entries) {
+                Map<String, Object> fields = client.computeIfAbsent(entry.get("clientId").asText(), k -> new HashMap<>());
+                entry.get("state").properties().forEach(f -> fields.put(f.getKey(), f.getValue().asText()));
+            }
+        }
+        return client;
+    }
+
+    @Test
+    @DisplayName("COALESCE: 같은 참가자의 상태 프레임은 필드가 병합된 하나의 프레임으로 합쳐진다")
+    void coalesceMergesSameParticipant() throws Exception {
+        OutboundSessionQueue queue = queue(SlowConsumerPolicy.COALESCE);
+        queue.offer(state(A, "filter", "grayscale"));
+        queue.offer(state(B, "x", 10));
+        queue.offer(state(A, "x", 20));
+
+        assertThat(queue.getQueueDepth()).isEqualTo(2);
+        assertThat(metrics.coalesced().count()).isEqualTo(1);
+
+        pendingDrains.forEach(Runnable::run);
+        verify(session, times(2)).sendMessage(any());
+        assertThat(appliedOnClient().get(A)).containsEntry("filter", "grayscale").containsEntry("x", "20");
+    }
+
+    @Test
+    @DisplayName("COALESCE: 배치 / 단일 프레임과 제어 이벤트가 섞여 큐가 넘쳐도 어떤 필드 변경도 잃지 않는다")
+    void coalesceNeverLosesFieldChanges() throws Exception {
+        OutboundSessionQueue queue = queue(SlowConsumerPolicy.COALESCE);
+        queue.offer(batch(Map.of(A, Map.of("filter", "grayscale"), B, Map.of("overlay", "heart"))));
+        queue.offer(batch(Map.of(B, Map.of("x", 5))));
+        // 여기부터 큐가 가득 참
+        queue.offer(state(A, "isMicOn", false));
+        queue.offer(OutboundFrame.control("{\"event\":\"user-joined\"}"));
+        queue.offer(state(B, "x", 7));
+        queue.offer(batch(Map.of(A, Map.of("x", 1))));
+
+        assertThat(queue.getQueueDepth()).isLessThanOrEqualTo(2);
+        verify(session, never()).close(any());
+
+        pendingDrains.forEach(Runnable::run);
+        Map<String, Map<String, Object>> client = appliedOnClient();
+        assertThat(client.get(A))
+                .containsEntry("filter", "grayscale")
+                .containsEntry("isMicOn", "false")
+                .containsEntry("x", "1");
+        assertThat(client.get(B))
+                .containsEntry("overlay", "heart")
+                .containsEntry("x", "7");
+        verify(session).sendMessage(new TextMessage("{\"event\":\"user-joined\"}"));
+    }
+
+    @Test
+    @DisplayName("COALESCE: 병합할 상태 프레임이 없으면 상태를 버리지 않고 세션을 종료한다")
+    void coalesceClosesWhenNothingToMerge() throws Exception {
+        OutboundSessionQueue queue = queue(SlowConsumerPolicy.COALESCE);
+        queue.offer(OutboundFrame.control("1"));
+        queue.offer(OutboundFrame.control("2"));
+        queue.offer(state(A, "x", 1));
+        verify(session, never()).close(any());
+
+        pendingDrains.forEach(Runnable::run);
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST_STATE: 가장 오래된 상태 프레임을 버리고 제어 이벤트는 유지한다")
+    void dropOldestStateKeepsControlFrames() throws Exception {
+        OutboundSessionQueue queue = queue(SlowConsumerPolicy.DROP_OLDEST_STATE);
+        OutboundFrame first = state(A, "x", 1);
+        OutboundFrame second = state(B, "x", 2);
+        queue.offer(OutboundFrame.control("joined"));
+        queue.offer(first);
+        queue.offer(second);
+
+        assertThat(queue.getDroppedFrames()).isEqualTo(1);
+
+        pendingDrains.forEach(Runnable::run);
+        verify(session).sendMessage(new TextMessage("joined"));
+        verify(session).sendMessage(second.toMessage(false));
+        verify(session, never()).sendMessage(first.toMessage(false));
+    }
+
+    @Test
+    @DisplayName("CLOSE: 큐가 가득 차면 송신 스레드에서 세션을 종료한다")
+    void closePolicyClosesSession() throws Exception {
+        OutboundSessionQueue queue = queue(SlowConsumerPolicy.CLOSE);
+        queue.offer(OutboundFrame.control("1"));
+        queue.offer(OutboundFrame.control("2"));
+        queue.offer(OutboundFrame.control("3"));
+
+        // offer 호출 스레드에서는 닫지 않고 큐만 비움
+        verify(session, never()).close(any());
+        assertThat(queue.getQueueDepth()).isZero();
+
+        pendingDrains.forEach(Runnable::run);
+        verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+        verify(session, never()).sendMessage(any());
+    }
+}
@@ -0,0 +1,36 @@
+package com.clov.backend.domain.room.websocket;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("시그널링 메시지 스트리밍 파싱 테스트")
+class SignalingEnvelopeTest {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Test
+    @DisplayName("SDP 본문과 필드 순서에 관계없이 event와 data.target을 읽는다")
+    void readsEventAndTarget() throws Exception {
+        String payload = "{\"data\":{\"sdp\":{\"type\":\"offer\",\"sdp\":\"v=0\\r\\no=- 1 2 IN IP4 127.0.0.1\"},"
+                + "\"from\":\"a\",\"target\":\"b\"},\"event\":\"sdp-offer\"}";
+
+        SignalingEnvelope envelope = SignalingEnvelope.peek(jsonFactory, payload);
+
+        assertThat(envelope.event()).isEqualTo("sdp-offer");
+        assertThat(envelope.target()).isEqualTo("b");
+    }
+
+    @Test
+    @DisplayName("시그널링이 아닌 이벤트는 event만 읽고 멈춘다")
+    void stopsForOtherEvents() throws Exception {
+        String payload = "{\"event\":\"update-state\",\"data\":{\"target\":\"b\"}}";
+
+        SignalingEnvelope envelope = SignalingEnvelope.peek(jsonFactory, payload);
+
+        assertThat(SignalingEnvelope.isSignaling(envelope.event())).isFalse();
+        assertThat(envelope.target()).isNull();
+    }
+}
@@ -0,0 +1,45 @@
+package com.clov.backend.domain.room.websocket;
+
+import com.clov.backend.domain.canvas.dto.CanvasStateDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("상태 델타 계산 테스트")
+class StateDeltaTrackerTest {
+
+    private static CanvasStateDto state(int x, int y) {
+        return CanvasStateDto.builder().x(x).y(y).scale(1.0).opacity(1.0).rotation(0).isMicOn(false).build();
+    }
+
+    @Test
+    @DisplayName("첫 상태는 키프레임, 이후에는 변경된 필드만 전달한다")
+    void firstKeyframeThenChangedFields() {
+        StateDeltaTracker tracker = new StateDeltaTracker(60_000);
+
+        StateDeltaTracker.Delta first = tracker.diff("ROOM01", "a", state(10, 20));
+        assertThat(first.keyframe()).isTrue();
+        assertThat(first.fields()).containsKeys("x", "y", "scale", "filter", "overlay");
+
+        StateDeltaTracker.Delta second = tracker.diff("ROOM01", "a", state(15, 20));
+        assertThat(second.keyframe()).isFalse();
+        assertThat(second.fields()).containsOnlyKeys("x").containsEntry("x", 15);
+
+        assertThat(tracker.diff("ROOM01", "a", state(15, 20)).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("forgetRoom 이후와 키프레임 주기 경과 시 전체 상태를 다시 보낸다")
+    void keyframeAfterResetOrInterval() {
+        StateDeltaTracker tracker = new StateDeltaTracker(60_000);
+        tracker.diff("ROOM01", "a", state(10, 20));
+
+        tracker.forgetRoom("ROOM01");
+        assertThat(tracker.diff("ROOM01", "a", state(10, 20)).keyframe()).isTrue();
+
+        StateDeltaTracker everyTime = new StateDeltaTracker(0);
+        everyTime.diff("ROOM01", "a", state(10, 20));
+        assertThat(everyTime.diff("ROOM01", "a", state(10, 20)).keyframe()).isTrue();
+    }
+}
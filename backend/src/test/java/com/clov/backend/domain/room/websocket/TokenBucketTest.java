@@ -0,0 +1,29 @@
+package com.clov.backend.domain.room.websocket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("토큰 버킷 테스트")
+class TokenBucketTest {
+
+    @Test
+    @DisplayName("버스트만큼 즉시 허용하고 이후에는 보충 속도만큼만 허용한다")
+    void burstThenRefill() {
+        TokenBucket bucket = new TokenBucket(10, 3);
+        long now = 1_000_000_000L;
+
+        assertThat(bucket.tryAcquire(now)).isTrue();
+        assertThat(bucket.tryAcquire(now)).isTrue();
+        assertThat(bucket.tryAcquire(now)).isTrue();
+        assertThat(bucket.tryAcquire(now)).isFalse();
+
+        // 100ms 후 토큰 1개 보충
+        long later = now + TimeUnit.MILLISECONDS.toNanos(100);
+        assertThat(bucket.tryAcquire(later)).isTrue();
+        assertThat(bucket.tryAcquire(later)).isFalse();
+    }
+}
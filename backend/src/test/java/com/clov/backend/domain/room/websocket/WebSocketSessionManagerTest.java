@@ -0,0 +1,89 @@
+package com.clov.backend.domain.room.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("세션 매니저 인덱스 테스트")
+class WebSocketSessionManagerTest {
+
+    private WebSocketSessionManager sessionManager;
+
+    @BeforeEach
+    void setUp() {
+        sessionManager = new WebSocketSessionManager(new ThreadPoolTaskExecutor(), new SimpleMeterRegistry(),
+                16, SlowConsumerPolicy.COALESCE);
+    }
+
+    private WebSocketSession session(String id, String roomCode, String clientId) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(RoomHandshakeInterceptor.ATTR_ROOM_CODE, roomCode);
+        attributes.put(RoomHandshakeInterceptor.ATTR_CLIENT_ID, clientId);
+
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.getAttributes()).thenReturn(attributes);
+        when(session.isOpen()).thenReturn(true);
+        return session;
+    }
+
+    @Test
+    @DisplayName("마지막 세션이 제거되면 방 구독도 사라진다")
+    void removeLastSessionClearsRoom() {
+        WebSocketSession a = session("s1", "ROOM01", "a");
+        WebSocketSession b = session("s2", "ROOM01", "b");
+        sessionManager.registerSession(a);
+        sessionManager.registerSession(b);
+
+        sessionManager.removeSession(a);
+        assertThat(sessionManager.hasSubscribers("ROOM01")).isTrue();
+        assertThat(sessionManager.getOutboundQueue(a)).isEmpty();
+
+        sessionManager.removeSession(b);
+        assertThat(sessionManager.hasSubscribers("ROOM01")).isFalse();
+    }
+
+    @Test
+    @DisplayName("재접속한 새 세션의 clientId 매핑은 이전 세션 제거 후에도 유지된다")
+    void reconnectKeepsNewMapping() {
+        WebSocketSession old = session("s1", "ROOM01", "a");
+        WebSocketSession reconnected = session("s2", "ROOM01", "a");
+        sessionManager.registerSession(old);
+        sessionManager.registerSession(reconnected);
+
+        sessionManager.removeSession(old);
+
+        assertThat(sessionManager.getOutboundQueue(reconnected)).isPresent();
+        assertThat(sessionManager.getClientIdFromSession(reconnected)).isEqualTo("a");
+        assertThat(sessionManager.hasSubscribers("ROOM01")).isTrue();
+    }
+
+    @Test
+    @DisplayName("방의 첫 세션 등록과 마지막 세션 제거 때만 리스너에 통지한다")
+    void notifiesPresenceOnFirstAndLastSession() {
+        List<String> events = new ArrayList<>();
+        sessionManager.addPresenceListener((roomCode, hasLocal) -> events.add(roomCode + ":" + hasLocal));
+        WebSocketSession a = session("s1", "ROOM01", "a");
+        WebSocketSession b = session("s2", "ROOM01", "b");
+
+        sessionManager.registerSession(a);
+        sessionManager.registerSession(b);
+        sessionManager.removeSession(a);
+        sessionManager.removeSession(b);
+        sessionManager.removeSession(b);
+
+        assertThat(events).containsExactly("ROOM01:true", "ROOM01:false");
+    }
+}
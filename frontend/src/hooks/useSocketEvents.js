@@ -4,6 +4,15 @@ import useCanvasParticipantsStore from '../stores/canvasParticipantsStore';
 import useRoomStore from '../stores/roomStore';
 import toast from 'react-hot-toast';
 
+// 델타로 전달된 필드에만 기본값을 적용 (없는 필드는 기존 값을 유지)
+function normalizeState(state) {
+  const next = { ...state };
+  if ('mode' in next) next.mode = next.mode || 1; // 배경 제거 모드
+  if ('filter' in next) next.filter = next.filter || null; // 비디오 필터
+  if ('overlay' in next) next.overlay = next.overlay || null;
+  return next;
+}
+
 export default function useSocketEvents() {
   const setAll = useCanvasParticipantsStore(
     (s) => s.setAllParticipantsFromSync
@@ -80,14 +89,16 @@ export default function useSocketEvents() {
       case 'state-updated': {
         // console.log('📍 state-updated:', data);
         // /* console.log('🔄 수신된 rotation:', data.state.rotation); */
-        updateOne(data.clientId, {
-          ...data.state,
-          nickname: data.nickname,
-          isHost: data.isHost,
-          mode: data.state.mode || 1, // 배경 제거 모드
-          filter: data.state.filter || null, // 비디오 필터
-          overlay: data.state.overlay || null,
-        });
+        // 서버는 변경된 필드만 보냄 (keyframe이면 전체 필드)
+        updateOne(data.clientId, normalizeState(data.state));
+        break;
+      }
+
+      case 'states-updated': {
+        // 서버가 프레임 윈도우(약 33ms) 단위로 묶어 보내는 참가자 상태 배치
+        for (const entry of data.states || []) {
+          updateOne(entry.clientId, normalizeState(entry.state));
+        }
         break;
       }
 
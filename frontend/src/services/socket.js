@@ -2,6 +2,27 @@
 
 let socket = null;
 
+// 서버가 스트림 전송 모드일 때 방 이벤트에 붙여 주는 eventId (재접속 시 이어받기 기준)
+let lastEventId = null;
+let lastEventRoomCode = null;
+
+const RECONNECT_DELAY_MS = 1000;
+const MAX_RECONNECT_ATTEMPTS = 5;
+// 이 시간 이상 연결이 유지되어야 재접속 시도 횟수를 초기화 (열리자마자 끊기는 반복을 횟수 제한에 포함)
+const STABLE_CONNECTION_MS = 30000;
+// 네트워크 단절 등 비정상 종료만 재접속 (정상 종료, 정책 위반, 느린 소비자 종료 등 서버가 의도한 종료는 제외)
+const RECONNECTABLE_CLOSE_CODES = new Set([1001, 1006, 1011, 1012, 1013]);
+let reconnectAttempts = 0;
+let stableTimer = null;
+
+// 'ms-seq' 형식의 스트림 ID 비교
+const isAfterEventId = (a, b) => {
+  if (!b) return true;
+  const [aMs, aSeq] = a.split('-').map(Number);
+  const [bMs, bSeq] = b.split('-').map(Number);
+  return aMs !== bMs ? aMs > bMs : aSeq > bSeq;
+};
+
 /**
  * WebSocket 연결
  */
@@ -16,11 +37,24 @@ export const connectWebSocket = (
     return;
   }
 
-  const url = `wss://clov.co.kr/ws?roomCode=${roomCode}&clientId=${clientId}`;
+  if (lastEventRoomCode !== roomCode) {
+    lastEventId = null;
+    lastEventRoomCode = roomCode;
+  }
+  const resume = lastEventId
+    ? `&lastEventId=${encodeURIComponent(lastEventId)}`
+    : '';
+
+  const url = `wss://clov.co.kr/ws?roomCode=${roomCode}&clientId=${clientId}${resume}`;
   // const url = `wss://dev.clov.co.kr/ws?roomCode=${roomCode}&clientId=${clientId}`;
-  socket = new WebSocket(url);
+  const ws = new WebSocket(url);
+  socket = ws;
 
   socket.onopen = () => {
+    clearTimeout(stableTimer);
+    stableTimer = setTimeout(() => {
+      reconnectAttempts = 0;
+    }, STABLE_CONNECTION_MS);
     // console.log('✅ WebSocket connected');
     if (typeof onOpenCallback === 'function') {
       onOpenCallback(); // 연결 후 호출
@@ -30,6 +64,11 @@ export const connectWebSocket = (
   socket.onmessage = (event) => {
     try {
       const message = JSON.parse(event.data);
+      if (message.eventId) {
+        // 재전송과 실시간 수신이 겹친 이벤트는 한 번만 처리
+        if (!isAfterEventId(message.eventId, lastEventId)) return;
+        lastEventId = message.eventId;
+      }
       // console.log('📥 [onMessage] 이벤트 처리됨:', message);
       onMessageCallback?.(message);
     } catch (e) {
@@ -40,6 +79,20 @@ export const connectWebSocket = (
 
   // socket.onerror = (err) => console.error('WebSocket Error:', err);
   // socket.onclose = () => console.log('❌ WebSocket disconnected');
+  socket.onclose = (event) => {
+    // closeSocket()으로 직접 닫은 경우가 아니면 재접속 (lastEventId 이후 이벤트를 이어받음)
+    if (socket !== ws) return;
+    socket = null;
+    clearTimeout(stableTimer);
+    // 이어받을 eventId가 없으면(스트림 전송 모드가 아니면) 재접속해도 놓친 이벤트를 복구할 수 없음
+    if (!lastEventId || !RECONNECTABLE_CLOSE_CODES.has(event.code)) return;
+    if (reconnectAttempts >= MAX_RECONNECT_ATTEMPTS) return;
+    reconnectAttempts += 1;
+    setTimeout(
+      () => connectWebSocket(roomCode, clientId, onMessageCallback, onOpenCallback),
+      RECONNECT_DELAY_MS
+    );
+  };
 };
 
 /**
@@ -66,8 +119,12 @@ export const sendEvent = (event, data) => {
  */
 export const closeSocket = () => {
   if (socket) {
-    socket.close();
+    const closing = socket;
     socket = null;
+    lastEventId = null;
+    clearTimeout(stableTimer);
+    reconnectAttempts = 0;
+    closing.close();
     // /* console.log('연결되어있던 소켓 연결 종료'); */
   }
 };